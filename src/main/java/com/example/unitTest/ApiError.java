@@ -0,0 +1,23 @@
+package com.example.unitTest;
+
+/**
+ * Error body returned by {@link GlobalExceptionHandler}.
+ */
+public class ApiError {
+
+    private final ErrorCode code;
+    private final String message;
+
+    public ApiError(ErrorCode code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.unitTest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a controller method inside the named bulkhead (app.bulkheads.groups),
+ * so one kind of endpoint cannot take all request threads from the others.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    String SCAN = "scan";
+    String LOOKUP = "lookup";
+    String WRITE = "write";
+
+    /** The bulkhead group. */
+    String value();
+}
@@ -0,0 +1,25 @@
+package com.example.unitTest;
+
+/**
+ * Thrown when a bulkhead has no free slot and its queue is full or the wait
+ * timed out. This is an expected outcome under load, so no stack trace is
+ * captured.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String group;
+
+    public BulkheadFullException(String group) {
+        super("Too many concurrent " + group + " requests, try again later.");
+        this.group = group;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.unitTest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Runs controller methods annotated with {@link Bulkhead} inside their group's
+ * bulkhead: the slot is taken before the handler runs and released when the
+ * request completes.
+ */
+@Component
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String GROUP_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".group";
+
+    private final BulkheadProperties properties;
+    private final Bulkheads bulkheads;
+
+    public BulkheadInterceptor(BulkheadProperties properties, Bulkheads bulkheads) {
+        this.properties = properties;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Bulkhead bulkhead = handlerMethod.getMethodAnnotation(Bulkhead.class);
+        if (bulkhead != null) {
+            bulkheads.acquire(bulkhead.value());
+            request.setAttribute(GROUP_ATTRIBUTE, bulkhead.value());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object group = request.getAttribute(GROUP_ATTRIBUTE);
+        if (group != null) {
+            request.removeAttribute(GROUP_ATTRIBUTE);
+            bulkheads.release((String) group);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulkheads for the endpoint groups of {@link Bulkhead}: each group may run a
+ * bounded number of requests at once, a bounded number may wait briefly for
+ * a slot, and the rest are rejected at once with 503.
+ * <p>
+ * A queued request still holds its servlet thread while it waits, so
+ * max-concurrent plus max-queued, summed over all groups, must stay below
+ * server.tomcat.threads.max (200 by default). The defaults add up to 150,
+ * leaving threads for unguarded endpoints such as the health probes.
+ */
+@ConfigurationProperties(prefix = "app.bulkheads")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Group> groups = new LinkedHashMap<>(Map.of(
+            Bulkhead.SCAN, new Group(20, 10, Duration.ofMillis(200)),
+            Bulkhead.LOOKUP, new Group(60, 30, Duration.ofMillis(100)),
+            Bulkhead.WRITE, new Group(20, 10, Duration.ofMillis(500))));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+
+        /** Requests of the group that may run at once. */
+        private int maxConcurrent;
+
+        /** Requests that may wait for a free slot; further requests are rejected at once. */
+        private int maxQueued;
+
+        /** How long a queued request waits for a slot before it is rejected. */
+        private Duration maxWait;
+
+        public Group() {
+            this(20, 10, Duration.ofMillis(200));
+        }
+
+        public Group(int maxConcurrent, int maxQueued, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
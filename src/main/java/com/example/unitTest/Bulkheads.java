@@ -0,0 +1,113 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Semaphore bulkheads per endpoint group. Requests run on the servlet thread
+ * that received them; the semaphore bounds how many of those threads one
+ * group can occupy, and the queue limit bounds how many wait for it, so a
+ * flood of scans is rejected before it starves lookups and writes.
+ * <p>
+ * Metrics per group: products.bulkhead.active, products.bulkhead.queued and
+ * products.bulkhead.rejected.
+ */
+@Component
+public class Bulkheads {
+
+    private final BulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Takes a slot in the group's bulkhead, waiting up to the group's max-wait
+     * if the queue has room. Every successful call must be paired with {@link #release(String)}.
+     *
+     * @throws BulkheadFullException if no slot became free.
+     */
+    public void acquire(String group) {
+        Compartment compartment = compartment(group);
+        if (compartment.permits.tryAcquire()) {
+            return;
+        }
+        if (compartment.queued.incrementAndGet() > compartment.settings.getMaxQueued()) {
+            compartment.queued.decrementAndGet();
+            throw reject(compartment, group);
+        }
+        try {
+            if (!compartment.permits.tryAcquire(maxWait(compartment), TimeUnit.NANOSECONDS)) {
+                throw reject(compartment, group);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw reject(compartment, group);
+        } finally {
+            compartment.queued.decrementAndGet();
+        }
+    }
+
+    // Never waits past the request deadline, which already started
+    private static long maxWait(Compartment compartment) {
+        long maxWait = compartment.settings.getMaxWait().toNanos();
+        Duration remaining = RequestDeadline.remaining();
+        return remaining == null ? maxWait : Math.max(0, Math.min(maxWait, remaining.toNanos()));
+    }
+
+    public void release(String group) {
+        compartment(group).permits.release();
+    }
+
+    private BulkheadFullException reject(Compartment compartment, String group) {
+        compartment.rejected.increment();
+        return new BulkheadFullException(group);
+    }
+
+    private Compartment compartment(String group) {
+        return compartments.computeIfAbsent(group, name -> {
+            BulkheadProperties.Group settings = properties.getGroups().get(name);
+            if (settings == null) {
+                throw new IllegalStateException("No bulkhead configured for group " + name);
+            }
+            return new Compartment(name, settings, meterRegistry);
+        });
+    }
+
+    private static final class Compartment {
+        final BulkheadProperties.Group settings;
+        final Semaphore permits;
+        final AtomicInteger queued = new AtomicInteger();
+        final Counter rejected;
+
+        Compartment(String group, BulkheadProperties.Group settings, MeterRegistry meterRegistry) {
+            this.settings = settings;
+            this.permits = new Semaphore(settings.getMaxConcurrent());
+            Gauge.builder("products.bulkhead.active", permits,
+                            semaphore -> settings.getMaxConcurrent() - semaphore.availablePermits())
+                    .description("Requests running in the bulkhead")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("products.bulkhead.queued", queued, AtomicInteger::get)
+                    .description("Requests waiting for a bulkhead slot")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("products.bulkhead.rejected")
+                    .description("Requests rejected because the bulkhead was full")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+    }
+}
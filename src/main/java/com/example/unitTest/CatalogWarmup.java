@@ -0,0 +1,212 @@
+package com.example.unitTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the product catalog at startup. Spring Boot only switches the
+ * readiness state to ACCEPTING_TRAFFIC after all ApplicationRunners have
+ * completed, so a new instance receives traffic only once the representative
+ * queries of {@link WarmupProperties} have run {@code passes} times through
+ * {@link ProductService}: the indexes and documents they touch are in Mongo's
+ * cache, hot products are in the product cache, and the query, mapping and
+ * JSON serialization code is compiled. Every list query is sorted and limited
+ * to {@value #SORTED_LIMIT} products, so the cost of a pass does not grow with
+ * the catalog. Only without app.warmup.colors are the product statistics read
+ * to find the top colors; that seed aggregation is bounded by the remaining
+ * warm-up time.
+ * <p>
+ * Warm-up is best effort: it stops at the first failed query or once
+ * app.warmup.max-duration has passed, checked before every query, and startup
+ * continues. The time taken is recorded
+ * in products.warmup.duration, the first and the last pass in
+ * products.warmup.pass, and their ratio in products.warmup.speedup.
+ */
+@Component
+public class CatalogWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogWarmup.class);
+    private static final int SORTED_LIMIT = 20;
+    private static final int MAX_NAMES = 10;
+    private static final int MAX_IDS = 20;
+
+    private final WarmupProperties properties;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private volatile double speedup = Double.NaN;
+
+    public CatalogWarmup(WarmupProperties properties, ProductService productService, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("products.warmup.speedup", this, warmup -> warmup.speedup)
+                .description("Duration of the first warm-up pass divided by the last")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Replays the warm-up queries for every configured tenant.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+        int queries = 0;
+        String outcome = "completed";
+        try {
+            for (String tenantId : properties.getTenants()) {
+                TenantContext.set(tenantId);
+                // Bounds each query by the time left, like a request deadline
+                RequestDeadline.start(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+                queries += warmUpTenant(deadline);
+            }
+        } catch (RuntimeException ex) {
+            outcome = "failed";
+            meterRegistry.counter("products.warmup.failures").increment();
+            log.warn("Catalog warm-up stopped after {} queries: {}", queries, ex.getMessage());
+        } finally {
+            RequestDeadline.clear();
+            TenantContext.clear();
+        }
+        if (System.nanoTime() > deadline) {
+            outcome = "timed_out";
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("products.warmup.duration")
+                .description("Time spent warming the catalog before accepting traffic")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Catalog warm-up {} in {} ms ({} queries)", outcome, elapsed / 1_000_000, queries);
+    }
+
+    private int warmUpTenant(long deadline) {
+        List<String> colors = properties.getColors();
+        int queries = 0;
+        if (colors.isEmpty()) {
+            // Seeds the tenant's statistics with one aggregation over its catalog; its maxTimeMS is
+            // capped by the warm-up deadline like every other query here
+            colors = topColors(productService.getProductStats().countsByColor());
+            queries++;
+        }
+        Set<String> names = new LinkedHashSet<>(properties.getNames());
+        Set<String> ids = new LinkedHashSet<>();
+        long firstPass = 0;
+        long lastPass = 0;
+        int passes = Math.max(1, properties.getPasses());
+        ProductListOptions byPrice = ProductListOptions.of("price", SORTED_LIMIT);
+        ProductListOptions byStock = ProductListOptions.of("stockQuantity,desc", SORTED_LIMIT);
+        warmUp:
+        for (int pass = 0; pass < passes; pass++) {
+            long passStart = System.nanoTime();
+            for (String color : colors) {
+                if (System.nanoTime() >= deadline) {
+                    break warmUp;
+                }
+                List<Product> products = productService.getProductsByColor(color, byPrice);
+                serialize(products);
+                serialize(productService.getProductsByColor(color, byStock));
+                queries += 2;
+                for (Product product : products) {
+                    if (properties.getNames().isEmpty() && names.size() < MAX_NAMES) {
+                        names.add(product.getName());
+                    }
+                    if (ids.size() < MAX_IDS) {
+                        ids.add(product.getId());
+                    }
+                }
+            }
+            for (String range : properties.getPriceRanges()) {
+                if (System.nanoTime() >= deadline) {
+                    break warmUp;
+                }
+                double[] bounds = priceRange(range);
+                serialize(productService.getProductsByPriceRange(bounds[0], bounds[1], byPrice));
+                queries++;
+            }
+            for (String name : names) {
+                if (System.nanoTime() >= deadline) {
+                    break warmUp;
+                }
+                serialize(productService.getProductsByName(name, byPrice));
+                queries++;
+            }
+            if (!ids.isEmpty() && System.nanoTime() < deadline) {
+                serialize(productService.getProductsByIds(new ArrayList<>(ids)));
+                queries++;
+            }
+            long passNanos = System.nanoTime() - passStart;
+            if (pass == 0) {
+                firstPass = passNanos;
+            }
+            lastPass = passNanos;
+        }
+        recordPass("first", firstPass);
+        recordPass("last", lastPass);
+        if (lastPass > 0) {
+            speedup = (double) firstPass / lastPass;
+        }
+        return queries;
+    }
+
+    private void recordPass(String pass, long nanos) {
+        Timer.builder("products.warmup.pass")
+                .description("Duration of the first and the last warm-up pass")
+                .tag("pass", pass)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private List<String> topColors(Map<String, Long> countsByColor) {
+        return countsByColor.entrySet().stream()
+                .filter(entry -> !entry.getKey().isEmpty())
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(properties.getTopColors())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static double[] priceRange(String range) {
+        String[] bounds = range.split("-", 2);
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Invalid warm-up price range: " + range);
+        }
+        return new double[]{Double.parseDouble(bounds[0].trim()), Double.parseDouble(bounds[1].trim())};
+    }
+
+    private void serialize(List<Product> products) {
+        try {
+            objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize products", ex);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.unitTest;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Machine-readable codes for expected error outcomes returned by the API.
+ */
+public enum ErrorCode {
+    INVALID_PRODUCT(HttpStatus.BAD_REQUEST),
+    PRODUCT_NAME_REQUIRED(HttpStatus.BAD_REQUEST, "Product name cannot be null or empty."),
+    PRODUCT_PRICE_NEGATIVE(HttpStatus.BAD_REQUEST, "Product price cannot be negative."),
+    PRODUCT_STOCK_NEGATIVE(HttpStatus.BAD_REQUEST, "Stock quantity cannot be negative."),
+    PRODUCT_THRESHOLD_NEGATIVE(HttpStatus.BAD_REQUEST, "Low-stock threshold cannot be negative."),
+    INVALID_ARGUMENT(HttpStatus.BAD_REQUEST),
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    TENANT_QUOTA_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS),
+    BULKHEAD_FULL(HttpStatus.SERVICE_UNAVAILABLE),
+    QUERY_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+    private final String defaultMessage;
+
+    ErrorCode(HttpStatus status) {
+        this(status, null);
+    }
+
+    ErrorCode(HttpStatus status, String defaultMessage) {
+        this.status = status;
+        this.defaultMessage = defaultMessage;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the fixed message for codes that always mean the same thing, otherwise {@code null}.
+     */
+    public String getDefaultMessage() {
+        return defaultMessage;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.unitTest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Executor for concurrent product sub-queries. Tasks run with the
+     * request deadline and trace context of the submitting thread.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productQueryExecutor(QueryExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("product-query-");
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Request deadline plus the current observation, so sub-query spans join the request trace
+        TaskDecorator requestContext = new RequestContextTaskDecorator();
+        TaskDecorator observationContext = new ContextPropagatingTaskDecorator();
+        executor.setTaskDecorator(task -> requestContext.decorate(observationContext.decorate(task)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -1,35 +1,97 @@
 package com.example.unitTest;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
 import java.util.NoSuchElementException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Handles InvalidProductException and returns a 400 Bad Request with its error code.
+     */
+    @ExceptionHandler(InvalidProductException.class)
+    public ResponseEntity<ApiError> handleInvalidProduct(InvalidProductException ex) {
+        return error(ex.getErrorCode(), ex.getMessage());
+    }
+
+    /**
+     * Handles ProductNotFoundException and returns a 404 Not Found.
+     */
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ApiError> handleProductNotFound(ProductNotFoundException ex) {
+        return error(ex.getErrorCode(), ex.getMessage());
+    }
+
     /**
      * Handles IllegalArgumentException and returns a 400 Bad Request.
      */
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    public ResponseEntity<ApiError> handleIllegalArgument(IllegalArgumentException ex) {
+        return error(ErrorCode.INVALID_ARGUMENT, ex.getMessage());
+    }
+
+    /**
+     * Handles missing or malformed request parameters and returns a 400 Bad Request.
+     */
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ApiError> handleBadParameter(Exception ex) {
+        return error(ErrorCode.INVALID_ARGUMENT, "Missing or invalid request parameter.");
     }
 
     /**
      * Handles NoSuchElementException and returns a 404 Not Found.
      */
     @ExceptionHandler(NoSuchElementException.class)
-    public ResponseEntity<String> handleNoSuchElement(NoSuchElementException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    public ResponseEntity<ApiError> handleNoSuchElement(NoSuchElementException ex) {
+        return error(ErrorCode.NOT_FOUND, ex.getMessage());
+    }
+
+    /**
+     * Handles requests over the tenant's quota and returns a 429 Too Many
+     * Requests; the quota refills continuously, so clients may retry after a second.
+     */
+    @ExceptionHandler(TenantQuotaExceededException.class)
+    public ResponseEntity<ApiError> handleTenantQuotaExceeded(TenantQuotaExceededException ex) {
+        return ResponseEntity.status(ErrorCode.TENANT_QUOTA_EXCEEDED.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiError(ErrorCode.TENANT_QUOTA_EXCEEDED, ex.getMessage()));
+    }
+
+    /**
+     * Handles requests rejected by a full bulkhead and returns a 503 Service
+     * Unavailable, so clients back off instead of queueing behind them.
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiError> handleBulkheadFull(BulkheadFullException ex) {
+        return ResponseEntity.status(ErrorCode.BULKHEAD_FULL.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiError(ErrorCode.BULKHEAD_FULL, ex.getMessage()));
+    }
+
+    /**
+     * Handles queries that ran past their time limit or the request deadline
+     * and returns a 503 Service Unavailable.
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ApiError> handleQueryTimeout(QueryTimeoutException ex) {
+        return error(ErrorCode.QUERY_TIMEOUT, "The query timed out.");
     }
 
     /**
      * Handles all other exceptions and returns a 500 Internal Server Error.
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGeneral(Exception ex) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("An unexpected error occurred.");
+    public ResponseEntity<ApiError> handleGeneral(Exception ex) {
+        return error(ErrorCode.INTERNAL_ERROR, "An unexpected error occurred.");
+    }
+
+    private static ResponseEntity<ApiError> error(ErrorCode code, String message) {
+        return ResponseEntity.status(code.getStatus()).body(new ApiError(code, message));
     }
 }
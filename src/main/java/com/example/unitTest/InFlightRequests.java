@@ -0,0 +1,42 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts product API requests currently being handled, exported as
+ * products.requests.inflight and checked by {@link RequestSaturationHealthIndicator}.
+ */
+@Component
+public class InFlightRequests implements HandlerInterceptor {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public InFlightRequests(MeterRegistry meterRegistry) {
+        Gauge.builder("products.requests.inflight", inFlight, AtomicInteger::get)
+                .description("Product API requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    public int current() {
+        return inFlight.get();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        inFlight.decrementAndGet();
+    }
+}
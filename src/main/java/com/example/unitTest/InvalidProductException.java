@@ -1,8 +1,28 @@
 package com.example.unitTest;
 // InvalidProductException.java
-public class InvalidProductException extends RuntimeException {
+
+/**
+ * Thrown for invalid client input. This is an expected outcome, so no stack
+ * trace is captured.
+ */
+public class InvalidProductException extends IllegalArgumentException {
+    private final ErrorCode errorCode;
+
     public InvalidProductException(String message) {
+        this(ErrorCode.INVALID_PRODUCT, message);
+    }
+
+    public InvalidProductException(ErrorCode errorCode, String message) {
         super(message);
+        this.errorCode = errorCode;
     }
-}
 
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.unitTest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default low-stock sink: one WARN line per event.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.low-stock.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingLowStockSink implements LowStockSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingLowStockSink.class);
+
+    @Override
+    public void publish(LowStockEvent event) {
+        log.warn("Low stock: product {} ({}) has {} left, threshold {}", event.productId(), event.name(),
+                event.stockQuantity(), event.threshold());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.unitTest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Default outbox publisher until a broker is wired in: logs each record.
+ */
+public class LoggingOutboxPublisher implements OutboxPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxPublisher.class);
+
+    @Override
+    public void publish(List<OutboxRecord> batch) {
+        for (OutboxRecord record : batch) {
+            log.info("Product {} {} ({})", record.getProductId(), record.getType(), record.getId());
+        }
+    }
+}
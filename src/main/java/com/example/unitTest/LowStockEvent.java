@@ -0,0 +1,10 @@
+package com.example.unitTest;
+
+import java.time.Instant;
+
+/**
+ * A product's stock dropped below its low-stock threshold. The tenant lets
+ * shared sinks route the alert to the right storefront.
+ */
+public record LowStockEvent(String tenantId, String productId, String name, int stockQuantity, int threshold, Instant detectedAt) {
+}
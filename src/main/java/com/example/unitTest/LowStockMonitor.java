@@ -0,0 +1,59 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Detects products whose stock drops below their low-stock threshold from
+ * the {@link ProductChangedEvent}s of the write paths, so no query or scan is
+ * needed. Alerts are edge-triggered: one event when a product crosses its
+ * threshold, none while it stays low, and a new one after it was restocked
+ * and drops again. Writes that bypass the services (other instances, direct
+ * database updates) are not seen; a change stream would be needed for those.
+ */
+@Component
+public class LowStockMonitor {
+
+    private final LowStockProperties properties;
+    private final LowStockSink sink;
+    private final Counter alerts;
+    private final Clock clock;
+
+    @Autowired
+    public LowStockMonitor(LowStockProperties properties, LowStockSink sink, MeterRegistry meterRegistry) {
+        this(properties, sink, meterRegistry, Clock.systemUTC());
+    }
+
+    LowStockMonitor(LowStockProperties properties, LowStockSink sink, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.sink = sink;
+        this.clock = clock;
+        this.alerts = Counter.builder("products.lowstock.alerts")
+                .description("Products that dropped below their low-stock threshold")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Product after = event.after();
+        if (!properties.isEnabled() || after == null) {
+            return;
+        }
+        int threshold = threshold(after);
+        boolean wasLow = event.before() != null && event.before().getStockQuantity() < threshold(event.before());
+        if (after.getStockQuantity() < threshold && !wasLow) {
+            alerts.increment();
+            sink.publish(new LowStockEvent(after.getTenantId(), after.getId(), after.getName(),
+                    after.getStockQuantity(), threshold, clock.instant()));
+        }
+    }
+
+    private int threshold(Product product) {
+        return product.getLowStockThreshold() != null ? product.getLowStockThreshold() : properties.getDefaultThreshold();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Low-stock alerts: thresholds and where the events are sent.
+ */
+@ConfigurationProperties(prefix = "app.products.low-stock")
+public class LowStockProperties {
+
+    private boolean enabled = true;
+
+    /** Threshold for products without their own lowStockThreshold. */
+    private int defaultThreshold = 10;
+
+    /** log, webhook or queue. */
+    private String sink = "log";
+
+    private final Webhook webhook = new Webhook();
+
+    private final Queue queue = new Queue();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    public void setDefaultThreshold(int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    public String getSink() {
+        return sink;
+    }
+
+    public void setSink(String sink) {
+        this.sink = sink;
+    }
+
+    public Webhook getWebhook() {
+        return webhook;
+    }
+
+    public Queue getQueue() {
+        return queue;
+    }
+
+    public static class Webhook {
+
+        /** Endpoint the events are POSTed to as JSON. */
+        private URI url;
+
+        private Duration timeout = Duration.ofSeconds(2);
+
+        public URI getUrl() {
+            return url;
+        }
+
+        public void setUrl(URI url) {
+            this.url = url;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Queue {
+
+        /** Events kept for consumers; new events are dropped when full. */
+        private int capacity = 10_000;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.unitTest;
+
+/**
+ * Destination for low-stock events, selected with app.products.low-stock.sink
+ * (log, webhook or queue). Called on the writing thread, so implementations
+ * must not block.
+ */
+public interface LowStockSink {
+
+    void publish(LowStockEvent event);
+}
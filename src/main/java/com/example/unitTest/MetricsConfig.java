@@ -0,0 +1,29 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Exports how many product list queries were executed and how many were
+     * collapsed into an identical in-flight query.
+     */
+    @Bean
+    public MeterBinder productQueryCoalescingMetrics(ProductService productService) {
+        SingleFlight<String, ?> flights = productService.getProductQueries();
+        return registry -> {
+            FunctionCounter.builder("products.queries.coalescing", flights, SingleFlight::getExecuted)
+                    .description("Product list queries by coalescing outcome")
+                    .tag("outcome", "executed")
+                    .register(registry);
+            FunctionCounter.builder("products.queries.coalescing", flights, SingleFlight::getCollapsed)
+                    .description("Product list queries by coalescing outcome")
+                    .tag("outcome", "collapsed")
+                    .register(registry);
+        };
+    }
+}
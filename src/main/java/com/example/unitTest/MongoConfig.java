@@ -0,0 +1,96 @@
+package com.example.unitTest;
+
+import com.mongodb.MongoCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Registers the listener that reports which server type served each read.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer readRoutingCustomizer(MeterRegistry meterRegistry) {
+        return settings -> settings.addCommandListener(new ReadRoutingCommandListener(meterRegistry));
+    }
+
+    /**
+     * Registers the listener that captures commands slower than app.mongo.slow-query.threshold.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryCustomizer(SlowQueryProperties properties,
+                                                                    SlowQueryLog slowQueryLog,
+                                                                    QueryPlanExplainer explainer,
+                                                                    MeterRegistry meterRegistry) {
+        return settings -> settings.addCommandListener(
+                new SlowQueryCommandListener(properties, slowQueryLog, explainer, meterRegistry));
+    }
+
+    @Bean
+    public MongoPoolMetricsListener mongoPoolMetricsListener(MeterRegistry meterRegistry) {
+        return new MongoPoolMetricsListener(meterRegistry);
+    }
+
+    /**
+     * Applies the app.mongo.pool settings and the checkout latency listener.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer poolCustomizer(MongoPoolProperties pool,
+                                                               MongoPoolMetricsListener poolListener) {
+        return settings -> {
+            settings.applyToConnectionPoolSettings(builder -> {
+                if (pool.getMinSize() != null) {
+                    builder.minSize(pool.getMinSize());
+                }
+                if (pool.getMaxSize() != null) {
+                    builder.maxSize(pool.getMaxSize());
+                }
+                if (pool.getMaxConnecting() != null) {
+                    builder.maxConnecting(pool.getMaxConnecting());
+                }
+                if (pool.getMaxWaitTime() != null) {
+                    builder.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (pool.getMaxConnectionIdleTime() != null) {
+                    builder.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (pool.getMaxConnectionLifeTime() != null) {
+                    builder.maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                builder.addConnectionPoolListener(poolListener);
+            });
+            settings.applyToSocketSettings(builder -> {
+                if (pool.getConnectTimeout() != null) {
+                    builder.connectTimeout(pool.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (pool.getReadTimeout() != null) {
+                    builder.readTimeout(pool.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                }
+            });
+            if (!pool.getCompressors().isEmpty()) {
+                settings.compressorList(compressors(pool.getCompressors()));
+            }
+        };
+    }
+
+    /**
+     * Maps compressor names to driver compressors, in order of preference.
+     * The server picks the first one it also supports.
+     */
+    static List<MongoCompressor> compressors(List<String> names) {
+        return names.stream()
+                .map(name -> switch (name.trim().toLowerCase()) {
+                    case "zstd" -> MongoCompressor.createZstdCompressor();
+                    case "snappy" -> MongoCompressor.createSnappyCompressor();
+                    case "zlib" -> MongoCompressor.createZlibCompressor();
+                    default -> throw new IllegalStateException("Unknown Mongo compressor: " + name);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.unitTest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on the document classes once the application
+ * is ready, instead of during context refresh (spring.data.mongodb.auto-index-creation).
+ * With app.mongo.indexes.deferred=true (default) this runs on a background
+ * thread so index verification never delays the first request.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean deferred;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${app.mongo.indexes.deferred:true}") boolean deferred) {
+        this.mongoTemplate = mongoTemplate;
+        this.deferred = deferred;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (deferred) {
+            Thread thread = new Thread(this::ensureIndexes, "mongo-index-init");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            ensureIndexes();
+        }
+    }
+
+    /**
+     * Ensures every index declared on a mapped {@link Document} class exists.
+     */
+    public void ensureIndexes() {
+        long start = System.nanoTime();
+        var mappingContext = mongoTemplate.getConverter().getMappingContext();
+        var resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        try {
+            for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                if (!entity.isAnnotationPresent(Document.class)) {
+                    continue;
+                }
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                resolver.resolveIndexFor(entity.getTypeInformation()).forEach(indexOps::ensureIndex);
+            }
+            log.info("Verified Mongo indexes in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Mongo index verification failed", ex);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.unitTest;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Readiness contribution "mongoLatency": pings Mongo and reports
+ * OUT_OF_SERVICE when the round trip is slower than
+ * app.health.readiness.max-mongo-latency, DOWN when the ping fails. The ping
+ * needs a pooled connection, so an exhausted pool also shows up here.
+ * <p>
+ * maxTimeMS only limits the command on the server, not the connection
+ * checkout or the network, so the ping runs on its own thread and the check
+ * waits at most app.health.readiness.mongo-ping-timeout for it. While a timed
+ * out ping is still hanging, further checks report DOWN immediately instead
+ * of queuing behind it.
+ */
+@Component
+public class MongoLatencyHealthIndicator extends AbstractHealthIndicator {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadinessProperties properties;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "mongo-health-ping");
+                thread.setDaemon(true);
+                return thread;
+            });
+    // At most one ping is queued or running
+    private final AtomicBoolean pinging = new AtomicBoolean();
+
+    public MongoLatencyHealthIndicator(MongoTemplate mongoTemplate, ReadinessProperties properties) {
+        super("Mongo ping failed");
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        long timeoutMillis = properties.getMongoPingTimeout().toMillis();
+        long start = System.nanoTime();
+        if (!pinging.compareAndSet(false, true)) {
+            builder.down().withDetail("error", "Previous ping still pending");
+            return;
+        }
+        Future<Document> ping = executor.submit(() -> {
+            try {
+                return mongoTemplate.executeCommand(new Document("ping", 1).append("maxTimeMS", timeoutMillis));
+            } finally {
+                pinging.set(false);
+            }
+        });
+        try {
+            ping.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Not cancelled: interrupting the driver would close the pooled connection mid-command
+            builder.down().withDetail("error", "No ping response within " + timeoutMillis + " ms");
+            return;
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        }
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+        builder.status(latency.compareTo(properties.getMaxMongoLatency()) > 0 ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("latencyMs", latency.toMillis())
+                .withDetail("maxLatencyMs", properties.getMaxMongoLatency().toMillis());
+    }
+}
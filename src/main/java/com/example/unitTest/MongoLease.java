@@ -0,0 +1,58 @@
+package com.example.unitTest;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * A named single-holder lease kept as one document in Mongo, for background
+ * jobs that must run on only one instance at a time. Each MongoLease is a
+ * distinct holder.
+ */
+class MongoLease {
+
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+    private final String name;
+    private final Clock clock;
+    private final String holder = UUID.randomUUID().toString();
+
+    MongoLease(MongoTemplate mongoTemplate, String collection, String name, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.collection = collection;
+        this.name = name;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes the lease if it is free or expired, or renews it if this holder has it.
+     *
+     * @return Whether this holder has the lease for the given duration from now.
+     */
+    boolean hold(Duration duration) {
+        Instant now = clock.instant();
+        Query free = new Query(where("_id").is(name).orOperator(
+                where("holder").is(holder), where("leaseUntil").lt(Date.from(now))));
+        Update take = new Update().set("holder", holder).set("leaseUntil", Date.from(now.plus(duration)));
+        try {
+            // Upsert creates the lease the first time; while someone else holds a live lease the
+            // filter misses, the upsert collides on _id and the lease is not ours
+            Document lease = mongoTemplate.findAndModify(free, take,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, collection);
+            return lease != null && holder.equals(lease.getString("holder"));
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.unitTest;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness contribution "mongoPool": OUT_OF_SERVICE while more requests wait
+ * for a pooled Mongo connection than app.health.readiness.max-pool-wait-queue.
+ */
+@Component
+public class MongoPoolHealthIndicator implements HealthIndicator {
+
+    private final MongoPoolMetricsListener poolListener;
+    private final ReadinessProperties properties;
+
+    public MongoPoolHealthIndicator(MongoPoolMetricsListener poolListener, ReadinessProperties properties) {
+        this.poolListener = poolListener;
+        this.properties = properties;
+    }
+
+    @Override
+    public Health health() {
+        int waiting = poolListener.getWaitQueueSize();
+        return Health.status(waiting > properties.getMaxPoolWaitQueue() ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("waitQueueSize", waiting)
+                .withDetail("maxWaitQueueSize", properties.getMaxPoolWaitQueue())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.unitTest;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how long requests wait to check a connection out of the pool.
+ * Pool size, in-use and wait-queue gauges are already exported by Spring Boot
+ * as mongodb.driver.pool.*; this adds the checkout latency next to them, and
+ * keeps the number of waiting checkouts across all servers for the readiness
+ * check ({@link MongoPoolHealthIndicator}).
+ */
+public class MongoPoolMetricsListener implements ConnectionPoolListener {
+
+    private final Timer checkedOut;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public MongoPoolMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.checkedOut = checkoutTimer("success");
+    }
+
+    /**
+     * Returns the number of checkouts currently waiting for a connection.
+     */
+    public int getWaitQueueSize() {
+        return waiting.get();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        checkoutTimer(event.getReason().name().toLowerCase())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer checkoutTimer(String outcome) {
+        return Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time spent waiting to check a connection out of the pool")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.unitTest;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.TagSet;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read preference and read concern settings per product query type.
+ * List queries can be routed to secondaries, lookups stay on the primary.
+ */
+@ConfigurationProperties(prefix = "app.mongo.read")
+public class MongoReadProperties {
+
+    private ReadSettings list = new ReadSettings();
+    private ReadSettings lookup = new ReadSettings();
+
+    public ReadSettings getList() {
+        return list;
+    }
+
+    public void setList(ReadSettings list) {
+        this.list = list;
+    }
+
+    public ReadSettings getLookup() {
+        return lookup;
+    }
+
+    public void setLookup(ReadSettings lookup) {
+        this.lookup = lookup;
+    }
+
+    public static class ReadSettings {
+        private String readPreference = "primary";
+        private Duration maxStaleness;
+        private String readConcern;
+
+        public String getReadPreference() {
+            return readPreference;
+        }
+
+        public void setReadPreference(String readPreference) {
+            this.readPreference = readPreference;
+        }
+
+        public Duration getMaxStaleness() {
+            return maxStaleness;
+        }
+
+        public void setMaxStaleness(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness;
+        }
+
+        public String getReadConcern() {
+            return readConcern;
+        }
+
+        public void setReadConcern(String readConcern) {
+            this.readConcern = readConcern;
+        }
+
+        /**
+         * Builds the driver read preference. Max staleness is ignored for primary,
+         * since the driver rejects it there.
+         */
+        public ReadPreference toReadPreference() {
+            if (readPreference == null || "primary".equalsIgnoreCase(readPreference)) {
+                return ReadPreference.primary();
+            }
+            if (maxStaleness == null) {
+                return ReadPreference.valueOf(readPreference);
+            }
+            return ReadPreference.valueOf(readPreference, List.<TagSet>of(),
+                    maxStaleness.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Builds the driver read concern, or {@code null} to use the server default.
+         */
+        public ReadConcern toReadConcern() {
+            if (readConcern == null || readConcern.isBlank()) {
+                return null;
+            }
+            return new ReadConcern(ReadConcernLevel.fromString(readConcern));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.unitTest;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the GraalVM native image (mvn -Pnative native:compile).
+ * Documents and DTOs are bound by Jackson and the Mongo mapping layer, and the
+ * repository fragments are instantiated reflectively by Spring Data.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Product.class, ProductDTO.class, ProductSearch.class, ProductStats.class, LowStockEvent.class,
+                PricePoint.class, PriceBucket.class, User.class, ApiError.class);
+        for (Class<?> type : new Class<?>[]{Product.class, User.class}) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        for (Class<?> fragment : new Class<?>[]{ProductRepositoryImpl.class, UserRepositoryImpl.class}) {
+            hints.reflection().registerType(fragment, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
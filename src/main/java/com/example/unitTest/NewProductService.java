@@ -1,15 +1,32 @@
 package com.example.unitTest;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import java.time.Instant;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Optional;
 
+@Observed(name = "product.service")
 @Service
 public class NewProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductStatistics productStatistics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.products.soft-delete.enabled:false}")
+    private boolean softDelete;
+
     /**
      * Retrieves all products from the repository.
      *
@@ -28,48 +45,36 @@ public class NewProductService {
      *
      * @param productDTO The data transfer object containing product details.
      * @return The saved product with an assigned ID.
-     * @throws IllegalArgumentException if required fields are missing or invalid.
+     * @throws InvalidProductException if required fields are missing or invalid.
      */
     public Product createProductN(ProductDTO productDTO) {
-        // Validate required fields
-        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Product name cannot be null or empty.");
-        }
-        if (productDTO.getPrice() < 0) {
-            throw new IllegalArgumentException("Product price cannot be negative.");
-        }
-        if (productDTO.getStockQuantity() < 0) {
-            throw new IllegalArgumentException("Stock quantity cannot be negative.");
-        }
+        Product product = ProductMapper.toValidProduct(productDTO);
 
-        Product product = new Product();
-        product.setName(productDTO.getName());
-        product.setDescription(productDTO.getDescription());
-        product.setColor(productDTO.getColor());
-        product.setPrice(productDTO.getPrice());
-        product.setStockQuantity(productDTO.getStockQuantity());
-
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productStatistics.added(saved);
+        eventPublisher.publishEvent(new ProductChangedEvent(null, saved));
+        return saved;
     }
 
     /**
      * Deletes a product by its ID.
      *
      * @param id The ID of the product to delete.
-     * @throws NoSuchElementException if the product does not exist.
-     * @throws IllegalArgumentException if the ID is null or empty.
+     * @throws ProductNotFoundException if the product does not exist.
+     * @throws InvalidProductException if the ID is null or empty.
      */
     public void deleteProductN(String id) {
-        if (id == null || id.trim().isEmpty()) {
-            throw new IllegalArgumentException("Product ID cannot be null or empty.");
-        }
+        ProductMapper.requireText(id, ErrorCode.INVALID_ARGUMENT, "Product ID cannot be null or empty.");
 
-        boolean exists = productRepository.existsById(id);
-        if (!exists) {
-            throw new NoSuchElementException("Product not found with id: " + id);
-        }
+        // Same delete as ProductService: one findAndRemove/findAndModify of the live product
+        Optional<Product> removed = softDelete
+                ? productRepository.softDeleteById(id, Instant.now())
+                : productRepository.removeById(id);
+        Product deleted = removed.orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
 
-        productRepository.deleteById(id);
+        productCache.evict(id);
+        productStatistics.removed(deleted);
+        eventPublisher.publishEvent(new ProductChangedEvent(deleted, null));
     }
 
     /**
@@ -77,17 +82,15 @@ public class NewProductService {
      *
      * @param name The name of the products to retrieve.
      * @return A list of products matching the given name.
-     * @throws IllegalArgumentException if the name is null or empty.
-     * @throws NoSuchElementException if no products match the given name.
+     * @throws InvalidProductException if the name is null or empty.
+     * @throws ProductNotFoundException if no products match the given name.
      */
     public List<Product> getProductsByNameN(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Product name cannot be null or empty.");
-        }
+        ProductMapper.requireText(name, ErrorCode.PRODUCT_NAME_REQUIRED, "Product name cannot be null or empty.");
 
         List<Product> products = productRepository.findByName(name);
         if (products.isEmpty()) {
-            throw new NoSuchElementException("No products found with name: " + name);
+            throw new ProductNotFoundException("No products found with name: " + name);
         }
 
         return products;
@@ -99,19 +102,19 @@ public class NewProductService {
      * @param minPrice The minimum price.
      * @param maxPrice The maximum price.
      * @return A list of products within the price range.
-     * @throws IllegalArgumentException if minPrice > maxPrice or any price is negative.
+     * @throws InvalidProductException if minPrice > maxPrice or any price is negative.
      */
     public List<Product> getProductsByPriceRangeN(double minPrice, double maxPrice) {
         if (minPrice < 0 || maxPrice < 0) {
-            throw new IllegalArgumentException("Price values cannot be negative.");
+            throw new InvalidProductException(ErrorCode.INVALID_ARGUMENT, "Price values cannot be negative.");
         }
         if (minPrice > maxPrice) {
-            throw new IllegalArgumentException("minPrice cannot be greater than maxPrice.");
+            throw new InvalidProductException(ErrorCode.INVALID_ARGUMENT, "minPrice cannot be greater than maxPrice.");
         }
 
         List<Product> products = productRepository.findByPriceBetween(minPrice, maxPrice);
         if (products.isEmpty()) {
-            throw new NoSuchElementException("No products found within price range: " + minPrice + " - " + maxPrice);
+            throw new ProductNotFoundException("No products found within price range: " + minPrice + " - " + maxPrice);
         }
 
         return products;
@@ -122,17 +125,15 @@ public class NewProductService {
      *
      * @param color The color of the products to retrieve.
      * @return A list of products matching the given color.
-     * @throws IllegalArgumentException if the color is null or empty.
-     * @throws NoSuchElementException if no products match the given color.
+     * @throws InvalidProductException if the color is null or empty.
+     * @throws ProductNotFoundException if no products match the given color.
      */
     public List<Product> getProductsByColorN(String color) {
-        if (color == null || color.trim().isEmpty()) {
-            throw new IllegalArgumentException("Product color cannot be null or empty.");
-        }
+        ProductMapper.requireText(color, ErrorCode.INVALID_ARGUMENT, "Product color cannot be null or empty.");
 
         List<Product> products = productRepository.findByColor(color);
         if (products.isEmpty()) {
-            throw new NoSuchElementException("No products found with color: " + color);
+            throw new ProductNotFoundException("No products found with color: " + color);
         }
 
         return products;
@@ -0,0 +1,149 @@
+package com.example.unitTest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Products encoded with {@link ProductCodec} in one direct (off-heap)
+ * ByteBuffer used as a circular log. New entries are appended; when the
+ * buffer is full the oldest entries are overwritten (FIFO eviction). Only a
+ * small id-to-position index lives on the heap, so a large store adds
+ * little to GC work.
+ * <p>
+ * Record layout: {@code int length, long expiresAtMillis, int keyLength, key, payload}.
+ * Positions are absolute (monotonic); the physical offset is position % capacity.
+ */
+public class OffHeapProductStore {
+
+    private static final int HEADER = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int WRAP = -1;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final ConcurrentHashMap<String, Long> index = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long head;
+    private long tail;
+
+    public OffHeapProductStore(int capacityBytes) {
+        this.capacity = capacityBytes;
+        this.buffer = ByteBuffer.allocateDirect(capacityBytes);
+    }
+
+    /**
+     * Stores the product, replacing any previous entry for its id. Entries
+     * larger than a quarter of the store are not cached.
+     */
+    public void put(Product product, long expiresAtMillis) {
+        byte[] key = product.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ProductCodec.encode(product);
+        int length = HEADER + key.length + payload.length;
+        if (length > capacity / 4) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int offset = (int) (head % capacity);
+            if (offset + length > capacity) {
+                // Not enough room before the end of the buffer: skip to the start
+                long wrapped = head + (capacity - offset);
+                evictUntil(wrapped + length);
+                if (capacity - offset >= Integer.BYTES) {
+                    buffer.putInt(offset, WRAP);
+                }
+                head = wrapped;
+                offset = 0;
+            } else {
+                evictUntil(head + length);
+            }
+            buffer.putInt(offset, length);
+            buffer.putLong(offset + Integer.BYTES, expiresAtMillis);
+            buffer.putInt(offset + Integer.BYTES + Long.BYTES, key.length);
+            buffer.put(offset + HEADER, key);
+            buffer.put(offset + HEADER + key.length, payload);
+            index.put(product.getId(), head);
+            head += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the decoded product with its expiry, or {@code null} if it is absent, evicted or expired.
+     */
+    public Entry get(String id, long nowMillis) {
+        Long position = index.get(id);
+        if (position == null) {
+            return null;
+        }
+        byte[] payload;
+        long expiresAtMillis;
+        lock.readLock().lock();
+        try {
+            if (position < tail) {
+                index.remove(id, position);
+                return null;
+            }
+            int offset = (int) (position % capacity);
+            expiresAtMillis = buffer.getLong(offset + Integer.BYTES);
+            if (expiresAtMillis < nowMillis) {
+                index.remove(id, position);
+                return null;
+            }
+            int keyLength = buffer.getInt(offset + Integer.BYTES + Long.BYTES);
+            payload = new byte[buffer.getInt(offset) - HEADER - keyLength];
+            buffer.get(offset + HEADER + keyLength, payload);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Entry(ProductCodec.decode(payload), expiresAtMillis);
+    }
+
+    public void remove(String id) {
+        index.remove(id);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Bytes between the oldest retained record and the write position, including superseded entries.
+     */
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return head - tail;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Drops the oldest records until {@code end - tail} fits the buffer.
+     */
+    private void evictUntil(long end) {
+        while (end - tail > capacity) {
+            int offset = (int) (tail % capacity);
+            int length = capacity - offset >= Integer.BYTES ? buffer.getInt(offset) : WRAP;
+            if (length == WRAP) {
+                tail += capacity - offset;
+                continue;
+            }
+            int keyLength = buffer.getInt(offset + Integer.BYTES + Long.BYTES);
+            byte[] key = new byte[keyLength];
+            buffer.get(offset + HEADER, key);
+            index.remove(new String(key, StandardCharsets.UTF_8), tail);
+            tail += length;
+        }
+    }
+
+    public record Entry(Product product, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Beans of the transactional outbox, only created with app.outbox.enabled=true.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public MongoTransactionManager mongoTransactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    /**
+     * Replace with a broker-backed publisher by declaring another OutboxPublisher bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher outboxPublisher() {
+        return new LoggingOutboxPublisher();
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(MongoTemplate mongoTemplate, OutboxPublisher publisher, OutboxProperties properties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(mongoTemplate, publisher, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox for product change events. Requires a replica set or
+ * sharded cluster, since the product write and the outbox record are
+ * committed in one Mongo transaction. Disabled by default.
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = false;
+
+    /** Delay between relay polls. */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** Records read, published and deleted together. */
+    private int batchSize = 100;
+
+    /** Upper bound on batches per poll, so throughput is at most batchSize * maxBatchesPerPoll per interval. */
+    private int maxBatchesPerPoll = 10;
+
+    /** How long the relay lease stays valid without renewal; only the holder publishes. */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerPoll() {
+        return maxBatchesPerPoll;
+    }
+
+    public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+}
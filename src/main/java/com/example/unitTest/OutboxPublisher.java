@@ -0,0 +1,13 @@
+package com.example.unitTest;
+
+import java.util.List;
+
+/**
+ * Delivers outbox records downstream (message broker, webhook, ...). A batch
+ * counts as delivered only if this returns normally; on an exception the
+ * whole batch is retried on the next poll.
+ */
+public interface OutboxPublisher {
+
+    void publish(List<OutboxRecord> batch);
+}
@@ -0,0 +1,79 @@
+package com.example.unitTest;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A product change waiting to be published, written in the same transaction
+ * as the change itself. {@code product} is the product after the change, or
+ * the deleted product for {@link Type#DELETED}. The relay deletes records once
+ * they are published; consumers must tolerate duplicates (at-least-once).
+ */
+@Document(collection = "product_outbox")
+@CompoundIndex(name = "createdAt_1__id_1", def = "{'createdAt': 1, '_id': 1}")
+public class OutboxRecord {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    private String id;
+    private Type type;
+    private String productId;
+    private Product product;
+    private Instant createdAt;
+
+    public OutboxRecord() {
+    }
+
+    public OutboxRecord(Type type, String productId, Product product, Instant createdAt) {
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Drains the product outbox: reads a batch oldest createdAt first, hands it to
+ * the {@link OutboxPublisher} and deletes it, up to app.outbox.max-batches-per-poll
+ * batches per poll. A failed publish stops the poll and the same batch is
+ * retried next time, so delivery is at-least-once. createdAt is taken when the
+ * record is appended, not when its transaction commits, so records of
+ * concurrent writes can become visible out of order; consumers must not rely
+ * on ordering and should deduplicate by record id.
+ * <p>
+ * Only one instance relays at a time: before each batch the relay takes or
+ * renews a lease document in {@value #LEASE_COLLECTION}, valid for
+ * app.outbox.lease-duration. An instance that dies mid-poll blocks the others
+ * for at most that long; keep it well above the time one batch takes to publish.
+ * <p>
+ * Metrics: products.outbox.published, products.outbox.publish.failures,
+ * products.outbox.publish (batch latency) and products.outbox.lag, the age of
+ * the oldest pending record at the last poll.
+ */
+public class OutboxRelay implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String LEASE_COLLECTION = "outbox_lease";
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxPublisher publisher;
+    private final OutboxProperties properties;
+    private final Clock clock;
+    private final MongoLease lease;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(MongoTemplate mongoTemplate, OutboxPublisher publisher, OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this(mongoTemplate, publisher, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    OutboxRelay(MongoTemplate mongoTemplate, OutboxPublisher publisher, OutboxProperties properties,
+                MeterRegistry meterRegistry, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.publisher = publisher;
+        this.properties = properties;
+        this.clock = clock;
+        this.lease = new MongoLease(mongoTemplate, LEASE_COLLECTION, "relay", clock);
+        this.published = Counter.builder("products.outbox.published")
+                .description("Outbox records delivered to the publisher")
+                .register(meterRegistry);
+        this.failures = Counter.builder("products.outbox.publish.failures")
+                .description("Outbox batches that failed and will be retried")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("products.outbox.publish")
+                .description("Time to publish one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("products.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox record at the last poll")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Polls every app.outbox.poll-interval, measured from the end of the previous poll.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::relay, properties.getPollInterval());
+    }
+
+    /**
+     * One relay poll.
+     *
+     * @return The number of records published.
+     */
+    public int relay() {
+        int total = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerPoll(); i++) {
+            if (!lease.hold(properties.getLeaseDuration())) {
+                log.debug("Outbox relay lease is held by another instance, skipping");
+                break;
+            }
+            Query next = new Query().with(Sort.by("createdAt", "id")).limit(properties.getBatchSize());
+            List<OutboxRecord> batch = mongoTemplate.find(next, OutboxRecord.class);
+            if (i == 0) {
+                lagMillis.set(batch.isEmpty() ? 0
+                        : Math.max(0, Duration.between(batch.get(0).getCreatedAt(), clock.instant()).toMillis()));
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                publishTimer.record(() -> publisher.publish(batch));
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn("Publishing {} outbox records failed, retrying on the next poll", batch.size(), ex);
+                break;
+            }
+            List<String> ids = batch.stream().map(OutboxRecord::getId).toList();
+            mongoTemplate.remove(new Query(where("id").in(ids)), OutboxRecord.class);
+            published.increment(batch.size());
+            total += batch.size();
+            if (batch.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.unitTest;
+
+import java.time.Instant;
+
+/**
+ * Downsampled price history: the prices recorded in [start, start + interval).
+ */
+public record PriceBucket(Instant start, double min, double max, double avg, long count) {
+}
@@ -0,0 +1,56 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Price history recording. Price changes are buffered in memory and written
+ * in batches by a background thread, so product writes never wait for it.
+ */
+@ConfigurationProperties(prefix = "app.products.price-history")
+public class PriceHistoryProperties {
+
+    private boolean enabled = true;
+
+    /** Price points waiting to be written; further points are dropped when full. */
+    private int bufferCapacity = 10_000;
+
+    /** Price points per insert. */
+    private int batchSize = 500;
+
+    /** Longest time a point waits in the buffer when there is no full batch. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a {@link PricePoint} for every created product and every price
+ * change, from the {@link ProductChangedEvent}s of the write paths. The
+ * writing thread only offers the point to a bounded buffer; a background
+ * thread inserts the buffer in batches. Points are dropped, and counted, when
+ * the buffer is full or an insert fails: history is best effort.
+ * <p>
+ * The price_history collection is created as a time-series collection on
+ * first start. On servers without time-series support (before 5.0) it falls
+ * back to a regular collection with the same {tenantId, productId, timestamp} index.
+ */
+@Component
+public class PriceHistoryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryRecorder.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final PriceHistoryProperties properties;
+    private final Clock clock;
+    private final BlockingQueue<PricePoint> buffer;
+    private final Counter recorded;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public PriceHistoryRecorder(MongoTemplate mongoTemplate, PriceHistoryProperties properties,
+                                MeterRegistry meterRegistry) {
+        this(mongoTemplate, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    PriceHistoryRecorder(MongoTemplate mongoTemplate, PriceHistoryProperties properties, MeterRegistry meterRegistry,
+                         Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        this.recorded = Counter.builder("products.pricehistory.points")
+                .description("Price points written to price_history")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("products.pricehistory.dropped")
+                .description("Price points dropped because the buffer was full or the insert failed")
+                .register(meterRegistry);
+        Gauge.builder("products.pricehistory.buffered", buffer, BlockingQueue::size)
+                .description("Price points waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Product after = event.after();
+        if (!properties.isEnabled() || after == null) {
+            return;
+        }
+        if (event.before() != null && event.before().getPrice() == after.getPrice()) {
+            return;
+        }
+        if (!buffer.offer(new PricePoint(after.getTenantId(), after.getId(), clock.instant(), after.getPrice()))) {
+            dropped.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "price-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        flush();
+    }
+
+    /**
+     * Writes everything buffered so far.
+     *
+     * @return The number of points written.
+     */
+    public int flush() {
+        int written = 0;
+        List<PricePoint> batch = new ArrayList<>(properties.getBatchSize());
+        while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            written += write(batch);
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+        return written;
+    }
+
+    private void run() {
+        ensureCollection();
+        while (running) {
+            try {
+                PricePoint first = buffer.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PricePoint> batch = new ArrayList<>(properties.getBatchSize());
+                batch.add(first);
+                buffer.drainTo(batch, properties.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int write(List<PricePoint> batch) {
+        try {
+            mongoTemplate.insert(batch, PricePoint.class);
+            recorded.increment(batch.size());
+            return batch.size();
+        } catch (RuntimeException ex) {
+            dropped.increment(batch.size());
+            log.warn("Dropped {} price points", batch.size(), ex);
+            return 0;
+        }
+    }
+
+    private void ensureCollection() {
+        try {
+            if (!mongoTemplate.collectionExists(PricePoint.class)) {
+                try {
+                    mongoTemplate.createCollection(PricePoint.class);
+                } catch (RuntimeException ex) {
+                    log.warn("Time-series collections are not supported, price_history is a regular collection: {}",
+                            ex.getMessage());
+                }
+            }
+            mongoTemplate.indexOps(PricePoint.class).ensureIndex(new Index()
+                    .named("tenantId_1_productId_1_timestamp_1")
+                    .on("tenantId", Sort.Direction.ASC)
+                    .on("productId", Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.ASC));
+        } catch (RuntimeException ex) {
+            log.warn("Could not prepare the price_history collection", ex);
+        }
+    }
+}
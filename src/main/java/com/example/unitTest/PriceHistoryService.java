@@ -0,0 +1,119 @@
+package com.example.unitTest;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Reads the price history of one product, raw or downsampled to hourly or
+ * daily buckets. Downsampling runs in Mongo, so only one document per bucket
+ * is returned however many points the range holds.
+ */
+@Service
+public class PriceHistoryService {
+
+    static final int MAX_RAW_POINTS = 10_000;
+    static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+
+    public enum Interval {
+        RAW(null), HOUR(Duration.ofHours(1)), DAY(Duration.ofDays(1));
+
+        private final Duration bucket;
+
+        Interval(Duration bucket) {
+            this.bucket = bucket;
+        }
+
+        public static Interval parse(String value) {
+            if (value == null || value.isBlank()) {
+                return RAW;
+            }
+            for (Interval interval : values()) {
+                if (interval.name().equalsIgnoreCase(value.trim())) {
+                    return interval;
+                }
+            }
+            throw new IllegalArgumentException("interval must be 'raw', 'hour' or 'day'.");
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    public PriceHistoryService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Returns the recorded prices in [from, to), oldest first.
+     *
+     * @param from Start of the range, defaults to 30 days before {@code to}.
+     * @param to   End of the range, defaults to now.
+     * @return At most {@value #MAX_RAW_POINTS} points.
+     * @throws IllegalArgumentException if from is not before to.
+     */
+    public List<PricePoint> getRawHistory(String productId, Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = start(from, end);
+        Query query = new Query(where("tenantId").is(TenantContext.current()).and("productId").is(productId)
+                .and("timestamp").gte(start).lt(end))
+                .with(Sort.by("timestamp"))
+                .limit(MAX_RAW_POINTS);
+        return mongoTemplate.find(query, PricePoint.class);
+    }
+
+    /**
+     * Returns min, max and average price per bucket in [from, to), oldest
+     * first. Buckets are aligned to UTC and empty buckets are omitted.
+     *
+     * @param interval HOUR or DAY.
+     * @throws IllegalArgumentException if from is not before to or the interval is RAW.
+     */
+    public List<PriceBucket> getDownsampledHistory(String productId, Instant from, Instant to, Interval interval) {
+        if (interval.bucket == null) {
+            throw new IllegalArgumentException("Use getRawHistory for raw price history.");
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = start(from, end);
+        long bucketMillis = interval.bucket.toMillis();
+        // Bucket start = timestamp - (timestamp mod bucket); works on every server version, unlike $dateTrunc
+        Document bucketStart = new Document("$subtract", List.of("$timestamp",
+                new Document("$mod", List.of(new Document("$toLong", "$timestamp"), bucketMillis))));
+        AggregationOperation group = context -> new Document("$group", new Document("_id", bucketStart)
+                .append("min", new Document("$min", "$price"))
+                .append("max", new Document("$max", "$price"))
+                .append("avg", new Document("$avg", "$price"))
+                .append("count", new Document("$sum", 1)));
+        AggregationOperation sort = context -> new Document("$sort", new Document("_id", 1));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("tenantId").is(TenantContext.current()).and("productId").is(productId)
+                        .and("timestamp").gte(start).lt(end)),
+                group,
+                sort);
+        return mongoTemplate.aggregate(aggregation, PricePoint.class, Document.class).getMappedResults().stream()
+                .map(bucket -> new PriceBucket(bucket.get("_id", Date.class).toInstant(),
+                        ((Number) bucket.get("min")).doubleValue(),
+                        ((Number) bucket.get("max")).doubleValue(),
+                        ((Number) bucket.get("avg")).doubleValue(),
+                        ((Number) bucket.get("count")).longValue()))
+                .toList();
+    }
+
+    private static Instant start(Instant from, Instant end) {
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to.");
+        }
+        return start;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.unitTest;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Instant;
+
+/**
+ * One recorded product price. Stored in the time-series collection
+ * price_history with the product id as meta field, so Mongo groups the
+ * points of one product into time buckets and range queries per product
+ * read only the buckets they need. History queries also filter on the
+ * product's tenant.
+ */
+@Document(collection = "price_history")
+@TimeSeries(timeField = "timestamp", metaField = "productId", granularity = Granularity.HOURS)
+public class PricePoint {
+
+    @Id
+    private String id;
+    private String tenantId;
+    private String productId;
+    private Instant timestamp;
+    private double price;
+
+    public PricePoint() {
+    }
+
+    public PricePoint(String tenantId, String productId, Instant timestamp, double price) {
+        this.tenantId = tenantId;
+        this.productId = productId;
+        this.timestamp = timestamp;
+        this.price = price;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+}
@@ -1,17 +1,71 @@
 package com.example.unitTest;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-
+import org.springframework.data.mongodb.core.mapping.Sharded;
+
+import java.time.Instant;
+
+/**
+ * Product document. Every product belongs to a tenant (storefront) and every
+ * query filters on tenantId, so tenantId leads each index: one tenant's
+ * queries only touch its own index range, however large the other catalogs are.
+ * <p>
+ * When the products collection is sharded the shard key is
+ * {tenantId: 1, color: 1, _id: 1}: color and color+price queries, the most
+ * common list queries, are routed to the shards owning that tenant and color,
+ * and _id keeps chunks of a popular color splittable. Name-only and price-only
+ * queries are broadcast to the shards holding the tenant.
+ * <p>
+ * A collection sharded before tenants existed, on {color: 1, _id: 1}, cannot
+ * move to this key with refineCollectionShardKey, which only appends suffix
+ * fields. Once {@link TenantBackfill} has stamped every document, reshard it
+ * (MongoDB 5.0+): {@code reshardCollection: "<db>.products", key: {tenantId: 1,
+ * color: 1, _id: 1}}. Reads and writes keep working on the old key meanwhile;
+ * they only lose the per-tenant routing.
+ * <p>
+ * {@link Sharded} makes save/replace include the shard key in their filter,
+ * which mongos requires for upserts. The key is declared immutable so save
+ * takes it from the entity instead of reading it back first: tenantId and _id
+ * never change, and PUT, the only write that may change the color, goes
+ * through ProductRepository.replaceLive, which filters on the stored color.
+ * <p>
+ * The remaining indexes back the sorted, top-N list queries (?sort=&amp;limit=):
+ * after tenantId the equality field comes first and the sort field second, so Mongo walks
+ * the index in order and stops after N documents instead of sorting in memory.
+ */
 @Document(collection = "products")
+@Sharded(shardKey = {"tenantId", "color", "id"}, immutableKey = true)
+@CompoundIndexes({
+        @CompoundIndex(name = "tenantId_1_color_1__id_1", def = "{'tenantId': 1, 'color': 1, '_id': 1}"),
+        @CompoundIndex(name = "tenantId_1_color_1_price_1", def = "{'tenantId': 1, 'color': 1, 'price': 1}"),
+        @CompoundIndex(name = "tenantId_1_color_1_stockQuantity_-1",
+                def = "{'tenantId': 1, 'color': 1, 'stockQuantity': -1}"),
+        @CompoundIndex(name = "tenantId_1_name_1_price_1", def = "{'tenantId': 1, 'name': 1, 'price': 1}"),
+        @CompoundIndex(name = "tenantId_1_name_1_stockQuantity_-1",
+                def = "{'tenantId': 1, 'name': 1, 'stockQuantity': -1}"),
+        @CompoundIndex(name = "tenantId_1_price_1", def = "{'tenantId': 1, 'price': 1}"),
+        @CompoundIndex(name = "tenantId_1_stockQuantity_-1", def = "{'tenantId': 1, 'stockQuantity': -1}")
+})
 public class Product {
     @Id
     private String id;
+    // Owning tenant; set from TenantContext on the first save
+    private String tenantId;
     private String name;
     private String description;
     private String color;
     private double price;
     private int stockQuantity;
+    // Low-stock alert threshold for this product; null uses app.products.low-stock.default-threshold
+    private Integer lowStockThreshold;
+    // Set instead of removing the document when soft delete is enabled; null for live products.
+    // The partial index only holds soft-deleted products, for the purge job.
+    @Indexed(name = "deletedAt_1_deleted", partialFilter = "{'deletedAt': {'$type': 'date'}}")
+    private Instant deletedAt;
 
 
     public Product() {
@@ -25,6 +79,14 @@ public class Product {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getName() {
         return name;
     }
@@ -64,4 +126,20 @@ public class Product {
     public void setStockQuantity(int stockQuantity) {
         this.stockQuantity = stockQuantity;
     }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache for product lookups by id. Writes go to both tiers; reads check the
+ * on-heap LRU hot tier first, then the off-heap tier, promoting hits back into
+ * the hot tier. Cached products are shared and must be treated as read-only.
+ * Ids that were not found are remembered briefly so repeated lookups of
+ * unknown ids do not reach Mongo. Entries are only returned to the tenant
+ * owning the product, and unknown ids are remembered per tenant, so one
+ * tenant's lookups never reveal or hide another tenant's products. When
+ * app.products.cache.enabled is false
+ * every call is a no-op miss.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long missingTtlMillis;
+    private final Map<String, HotEntry> hot;
+    private final Map<String, Long> missing;
+    private final OffHeapProductStore[] offHeap;
+
+    private final LongAdder hotHits = new LongAdder();
+    private final LongAdder offHeapHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder missingHits = new LongAdder();
+
+    public ProductCache(ProductCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.missingTtlMillis = properties.getMissingTtl().toMillis();
+        this.hot = lru(properties.getHotEntries());
+        this.missing = lru(properties.getMissingEntries());
+        ProductCacheProperties.OffHeap offHeapProperties = properties.getOffHeap();
+        if (enabled && offHeapProperties.isEnabled()) {
+            int segments = Math.max(1, offHeapProperties.getSegments());
+            long segmentBytes = Math.min(offHeapProperties.getSize().toBytes() / segments, 1L << 30);
+            this.offHeap = new OffHeapProductStore[segments];
+            for (int i = 0; i < segments; i++) {
+                offHeap[i] = new OffHeapProductStore((int) segmentBytes);
+            }
+        } else {
+            this.offHeap = new OffHeapProductStore[0];
+        }
+    }
+
+    /**
+     * Returns the cached product of the current tenant, or {@code null} on a miss.
+     */
+    public Product get(String id) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        String tenantId = TenantContext.current();
+        HotEntry entry;
+        synchronized (hot) {
+            entry = hot.get(id);
+        }
+        if (entry != null && entry.expiresAtMillis >= now && tenantId.equals(entry.product.getTenantId())) {
+            hotHits.increment();
+            return entry.product;
+        }
+        if (offHeap.length > 0) {
+            OffHeapProductStore.Entry stored = segment(id).get(id, now);
+            if (stored != null && tenantId.equals(stored.product().getTenantId())) {
+                offHeapHits.increment();
+                // Keeps the original expiry, promotion does not extend the entry's lifetime
+                synchronized (hot) {
+                    hot.put(id, new HotEntry(stored.product(), stored.expiresAtMillis()));
+                }
+                return stored.product();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns true if the id was recently looked up by the current tenant and not found.
+     */
+    public boolean isMissing(String id) {
+        if (!enabled) {
+            return false;
+        }
+        Long expiresAtMillis;
+        synchronized (missing) {
+            expiresAtMillis = missing.get(missingKey(TenantContext.current(), id));
+        }
+        if (expiresAtMillis != null && expiresAtMillis >= System.currentTimeMillis()) {
+            missingHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers that the current tenant has no product with this id, for app.products.cache.missing-ttl.
+     */
+    public void putMissing(String id) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (missing) {
+            missing.put(missingKey(TenantContext.current(), id), System.currentTimeMillis() + missingTtlMillis);
+        }
+    }
+
+    public void put(Product product) {
+        if (!enabled || product.getId() == null) {
+            return;
+        }
+        long expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+        synchronized (hot) {
+            hot.put(product.getId(), new HotEntry(product, expiresAtMillis));
+        }
+        synchronized (missing) {
+            missing.remove(missingKey(product.getTenantId(), product.getId()));
+        }
+        if (offHeap.length > 0) {
+            segment(product.getId()).put(product, expiresAtMillis);
+        }
+    }
+
+    public void evict(String id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        synchronized (hot) {
+            hot.remove(id);
+        }
+        synchronized (missing) {
+            missing.remove(missingKey(TenantContext.current(), id));
+        }
+        if (offHeap.length > 0) {
+            segment(id).remove(id);
+        }
+    }
+
+    private static String missingKey(String tenantId, String id) {
+        return tenantId + '/' + id;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("products.cache.requests", hotHits, LongAdder::sum)
+                .tag("result", "hot").register(registry);
+        FunctionCounter.builder("products.cache.requests", offHeapHits, LongAdder::sum)
+                .tag("result", "offheap").register(registry);
+        FunctionCounter.builder("products.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("products.cache.requests", missingHits, LongAdder::sum)
+                .tag("result", "negative").register(registry);
+        Gauge.builder("products.cache.offheap.entries", this, cache -> {
+            long entries = 0;
+            for (OffHeapProductStore store : cache.offHeap) {
+                entries += store.size();
+            }
+            return entries;
+        }).register(registry);
+        Gauge.builder("products.cache.offheap.used", this, cache -> {
+            long used = 0;
+            for (OffHeapProductStore store : cache.offHeap) {
+                used += store.usedBytes();
+            }
+            return used;
+        }).baseUnit("bytes").register(registry);
+    }
+
+    private static <V> Map<String, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private OffHeapProductStore segment(String id) {
+        return offHeap[Math.floorMod(id.hashCode(), offHeap.length)];
+    }
+
+    private record HotEntry(Product product, long expiresAtMillis) {
+    }
+}
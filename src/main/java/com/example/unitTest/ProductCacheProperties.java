@@ -0,0 +1,110 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Cache for product lookups by id: a small on-heap LRU hot tier in front of
+ * an optional off-heap tier sized for the catalog, plus a short-lived
+ * negative cache for unknown ids. Disabled by default.
+ */
+@ConfigurationProperties(prefix = "app.products.cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = false;
+
+    /** How long an entry may be served before it is read from Mongo again. */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /** Maximum number of products in the on-heap hot tier. */
+    private int hotEntries = 10_000;
+
+    /** How long an id that was not found is remembered as missing. */
+    private Duration missingTtl = Duration.ofSeconds(5);
+
+    /** Maximum number of ids remembered as missing. */
+    private int missingEntries = 10_000;
+
+    private final OffHeap offHeap = new OffHeap();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getHotEntries() {
+        return hotEntries;
+    }
+
+    public void setHotEntries(int hotEntries) {
+        this.hotEntries = hotEntries;
+    }
+
+    public Duration getMissingTtl() {
+        return missingTtl;
+    }
+
+    public void setMissingTtl(Duration missingTtl) {
+        this.missingTtl = missingTtl;
+    }
+
+    public int getMissingEntries() {
+        return missingEntries;
+    }
+
+    public void setMissingEntries(int missingEntries) {
+        this.missingEntries = missingEntries;
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public static class OffHeap {
+
+        private boolean enabled = true;
+
+        /** Total direct memory for the off-heap tier; count it in the pod's memory limit. */
+        private DataSize size = DataSize.ofMegabytes(256);
+
+        /** Independent segments, each with its own lock; at most 1 GB per segment. */
+        private int segments = 8;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getSize() {
+            return size;
+        }
+
+        public void setSize(DataSize size) {
+            this.size = size;
+        }
+
+        public int getSegments() {
+            return segments;
+        }
+
+        public void setSegments(int segments) {
+            this.segments = segments;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.unitTest;
+
+/**
+ * Published by the product services after a product was written, for
+ * in-process listeners such as {@link LowStockMonitor}. {@code before} is
+ * null for a created product and {@code after} is null for a deleted one.
+ */
+public record ProductChangedEvent(Product before, Product after) {
+}
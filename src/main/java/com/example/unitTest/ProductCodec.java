@@ -0,0 +1,77 @@
+package com.example.unitTest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of {@link Product} for the off-heap cache tier:
+ * length-prefixed UTF-8 strings (length -1 for null) followed by the price
+ * and stock quantity, then the low-stock threshold (-1 for null) and the
+ * tenant id. Field order is fixed; bump the cache, not the format.
+ */
+public final class ProductCodec {
+
+    private ProductCodec() {
+    }
+
+    public static byte[] encode(Product product) {
+        byte[] id = bytes(product.getId());
+        byte[] name = bytes(product.getName());
+        byte[] description = bytes(product.getDescription());
+        byte[] color = bytes(product.getColor());
+        byte[] tenantId = bytes(product.getTenantId());
+        ByteBuffer buffer = ByteBuffer.allocate(5 * 4 + length(id) + length(name) + length(description)
+                + length(color) + length(tenantId) + Double.BYTES + 2 * Integer.BYTES);
+        put(buffer, id);
+        put(buffer, name);
+        put(buffer, description);
+        put(buffer, color);
+        buffer.putDouble(product.getPrice());
+        buffer.putInt(product.getStockQuantity());
+        buffer.putInt(product.getLowStockThreshold() != null ? product.getLowStockThreshold() : -1);
+        put(buffer, tenantId);
+        return buffer.array();
+    }
+
+    public static Product decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Product product = new Product();
+        product.setId(string(buffer));
+        product.setName(string(buffer));
+        product.setDescription(string(buffer));
+        product.setColor(string(buffer));
+        product.setPrice(buffer.getDouble());
+        product.setStockQuantity(buffer.getInt());
+        int lowStockThreshold = buffer.getInt();
+        product.setLowStockThreshold(lowStockThreshold >= 0 ? lowStockThreshold : null);
+        product.setTenantId(string(buffer));
+        return product;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
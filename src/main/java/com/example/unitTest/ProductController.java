@@ -1,60 +1,141 @@
 package com.example.unitTest;
 
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
+@Observed(name = "product.controller")
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    // Varje endpoint körs i en bulkhead-grupp (scan, lookup, write) så att tunga listningar
+    // inte kan ta alla trådar från uppslag och skrivningar, se Bulkheads
+
     private final ProductService productService;
+    private final PriceHistoryService priceHistoryService;
 
     // Konstruktorinjektion
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, PriceHistoryService priceHistoryService) {
         this.productService = productService;
+        this.priceHistoryService = priceHistoryService;
     }
 
     // Skapa en produkt
+    @Bulkhead(Bulkhead.WRITE)
     @PostMapping
     public ResponseEntity<Product> createProduct(@RequestBody ProductDTO productDTO) {
         Product createdProduct = productService.createProduct(productDTO);
         return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
     }
 
-    // Hämta alla produkter
+    // Hämta alla produkter, valfritt sorterade och begränsade (?sort=price,asc&limit=20)
+    @Bulkhead(Bulkhead.SCAN)
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
+    public ResponseEntity<List<Product>> getAllProducts(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit) {
+        List<Product> products = productService.getAllProducts(ProductListOptions.of(sort, limit));
+        return new ResponseEntity<>(products, HttpStatus.OK);
+    }
+
+    // Hämta ungefärlig statistik: totalt antal, antal per färg och antal unika namn
+    @Bulkhead(Bulkhead.LOOKUP)
+    @GetMapping("/stats")
+    public ResponseEntity<ProductStats> getProductStats() {
+        ProductStats stats = productService.getProductStats();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    // Hämta flera produkter efter id i ett anrop (?ids=a,b,c)
+    @Bulkhead(Bulkhead.LOOKUP)
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Product>> getProductsByIds(@RequestParam List<String> ids) {
+        List<Product> products = productService.getProductsByIds(ids);
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
 
+    // Hämta en produkt efter id
+    @Bulkhead(Bulkhead.LOOKUP)
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProductById(@PathVariable String id) {
+        Product product = productService.getProductById(id);
+        return new ResponseEntity<>(product, HttpStatus.OK);
+    }
+
     // Hämta produkter efter namn
+    @Bulkhead(Bulkhead.SCAN)
     @GetMapping("/name/{name}")
-    public ResponseEntity<List<Product>> getProductsByName(@PathVariable String name) {
-        List<Product> products = productService.getProductsByName(name);
+    public ResponseEntity<List<Product>> getProductsByName(
+            @PathVariable String name,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit) {
+        List<Product> products = productService.getProductsByName(name, ProductListOptions.of(sort, limit));
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
 
     // Hämta produkter inom prisintervall
+    @Bulkhead(Bulkhead.SCAN)
     @GetMapping("/price")
     public ResponseEntity<List<Product>> getProductsByPriceRange(
             @RequestParam double minPrice,
-            @RequestParam double maxPrice) {
-        List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
+            @RequestParam double maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit) {
+        List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice,
+                ProductListOptions.of(sort, limit));
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
 
     // Hämta produkter efter färg
+    @Bulkhead(Bulkhead.SCAN)
     @GetMapping("/color/{color}")
-    public ResponseEntity<List<Product>> getProductsByColor(@PathVariable String color) {
-        List<Product> products = productService.getProductsByColor(color);
+    public ResponseEntity<List<Product>> getProductsByColor(
+            @PathVariable String color,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit) {
+        List<Product> products = productService.getProductsByColor(color, ProductListOptions.of(sort, limit));
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
 
+    // Sök produkter på valfri kombination av namn, färg och pris (match=all|any, sort, limit)
+    @Bulkhead(Bulkhead.SCAN)
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(ProductSearch search) {
+        List<Product> products = productService.searchProducts(search);
+        return new ResponseEntity<>(products, HttpStatus.OK);
+    }
+
+    // Hämta prishistorik för en produkt, rå eller per timme/dag (interval=raw|hour|day)
+    @Bulkhead(Bulkhead.SCAN)
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<List<?>> getPriceHistory(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String interval) {
+        PriceHistoryService.Interval parsed = PriceHistoryService.Interval.parse(interval);
+        List<?> history = parsed == PriceHistoryService.Interval.RAW
+                ? priceHistoryService.getRawHistory(id, from, to)
+                : priceHistoryService.getDownsampledHistory(id, from, to, parsed);
+        return new ResponseEntity<>(history, HttpStatus.OK);
+    }
+
+    // Uppdatera en produkt (ersätter alla fält)
+    @Bulkhead(Bulkhead.WRITE)
+    @PutMapping("/{id}")
+    public ResponseEntity<Product> updateProduct(@PathVariable String id, @RequestBody ProductDTO productDTO) {
+        Product updatedProduct = productService.updateProduct(id, productDTO);
+        return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
+    }
+
     // Radera en produkt
+    @Bulkhead(Bulkhead.WRITE)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable String id) {
         productService.deleteProduct(id);
@@ -8,6 +8,7 @@ public class ProductDTO {
     private String color;
     private double price;
     private int stockQuantity;
+    private Integer lowStockThreshold;
 
 
     public ProductDTO() {
@@ -60,4 +61,12 @@ public class ProductDTO {
     public void setStockQuantity(int stockQuantity) {
         this.stockQuantity = stockQuantity;
     }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
 }
\ No newline at end of file
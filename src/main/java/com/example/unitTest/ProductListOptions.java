@@ -0,0 +1,142 @@
+package com.example.unitTest;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sort order and result limit for the product list endpoints, pushed down
+ * into the Mongo query. Each endpoint only accepts the sort fields that an
+ * index on Product delivers in order for its filter (see the *_SORTS lists
+ * and {@link #requireSortableBy}), so Mongo never sorts in memory.
+ */
+public final class ProductListOptions {
+
+    static final List<String> SORTABLE_FIELDS = List.of("price", "stockQuantity", "name");
+    // Sort fields per filter: {tenantId, price}, {tenantId, stockQuantity} and {tenantId, name, ...} for all
+    // products, the name and color compound indexes, and {tenantId, price} for a price range
+    static final List<String> ALL_SORTS = SORTABLE_FIELDS;
+    static final List<String> NAME_SORTS = List.of("price", "stockQuantity", "name");
+    static final List<String> COLOR_SORTS = List.of("price", "stockQuantity");
+    static final List<String> PRICE_RANGE_SORTS = List.of("price");
+    static final int MAX_LIMIT = 1000;
+
+    public static final ProductListOptions DEFAULT = new ProductListOptions(Sort.unsorted(), Limit.unlimited());
+
+    private final Sort sort;
+    private final Limit limit;
+
+    private ProductListOptions(Sort sort, Limit limit) {
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    /**
+     * Parses the sort and limit request parameters.
+     *
+     * @param sort  A sortable field, optionally followed by ",asc" or ",desc", e.g. "price,desc". May be null.
+     * @param limit The maximum number of products, 1 to {@value #MAX_LIMIT}. May be null.
+     * @return The options, {@link #DEFAULT} when neither is given.
+     * @throws IllegalArgumentException if the field is not sortable or the limit is out of range.
+     */
+    public static ProductListOptions of(String sort, Integer limit) {
+        if ((sort == null || sort.isBlank()) && limit == null) {
+            return DEFAULT;
+        }
+        return new ProductListOptions(parseSort(sort), parseLimit(limit));
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    public Limit limit() {
+        return limit;
+    }
+
+    /**
+     * Checks that every sort field is delivered in order by an index for the query.
+     *
+     * @param indexedFields The sort fields the query's indexes support, one of the *_SORTS lists.
+     * @return These options.
+     * @throws IllegalArgumentException if a sort field would need an in-memory sort.
+     */
+    public ProductListOptions requireSortableBy(List<String> indexedFields) {
+        for (Sort.Order order : sort) {
+            if (!indexedFields.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort these products by '" + order.getProperty()
+                        + "', use one of " + indexedFields + ".");
+            }
+        }
+        return this;
+    }
+
+    public boolean isDefault() {
+        return this == DEFAULT;
+    }
+
+    /**
+     * Part of the request-coalescing key, so only identical sorted queries are merged.
+     */
+    public String key() {
+        return isDefault() ? "" : ":" + sort + ":" + (limit.isLimited() ? limit.max() : "all");
+    }
+
+    /**
+     * Sorts and limits an already loaded list the same way Mongo would, used
+     * when results of several queries are merged.
+     */
+    public List<Product> applyTo(List<Product> products) {
+        if (isDefault()) {
+            return products;
+        }
+        List<Product> result = new ArrayList<>(products);
+        Comparator<Product> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Product> byField = switch (order.getProperty()) {
+                case "price" -> Comparator.comparingDouble(Product::getPrice);
+                case "stockQuantity" -> Comparator.comparingInt(Product::getStockQuantity);
+                default -> Comparator.comparing(Product::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+            };
+            byField = order.isAscending() ? byField : byField.reversed();
+            comparator = comparator == null ? byField : comparator.thenComparing(byField);
+        }
+        if (comparator != null) {
+            result.sort(comparator);
+        }
+        if (limit.isLimited() && result.size() > limit.max()) {
+            return new ArrayList<>(result.subList(0, limit.max()));
+        }
+        return result;
+    }
+
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort by '" + field + "', use one of " + SORTABLE_FIELDS + ".");
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Sort direction must be 'asc' or 'desc'."));
+        }
+        return Sort.by(direction, field);
+    }
+
+    private static Limit parseLimit(Integer limit) {
+        if (limit == null) {
+            return Limit.unlimited();
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return Limit.of(limit);
+    }
+}
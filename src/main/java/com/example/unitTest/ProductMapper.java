@@ -0,0 +1,83 @@
+package com.example.unitTest;
+
+/**
+ * Shared validation and ProductDTO to Product mapping for all write paths.
+ * Checks do not allocate: blank detection scans the string in place instead
+ * of trimming a copy, and failures are reported as {@link ErrorCode}s with
+ * fixed messages.
+ */
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    /**
+     * Validates a product DTO.
+     *
+     * @param productDTO The DTO to validate.
+     * @return The first failed rule, or {@code null} if the DTO is valid.
+     */
+    public static ErrorCode validate(ProductDTO productDTO) {
+        if (isBlank(productDTO.getName())) {
+            return ErrorCode.PRODUCT_NAME_REQUIRED;
+        }
+        if (productDTO.getPrice() < 0) {
+            return ErrorCode.PRODUCT_PRICE_NEGATIVE;
+        }
+        if (productDTO.getStockQuantity() < 0) {
+            return ErrorCode.PRODUCT_STOCK_NEGATIVE;
+        }
+        if (productDTO.getLowStockThreshold() != null && productDTO.getLowStockThreshold() < 0) {
+            return ErrorCode.PRODUCT_THRESHOLD_NEGATIVE;
+        }
+        return null;
+    }
+
+    /**
+     * Validates a product DTO and maps it to a new Product.
+     *
+     * @param productDTO The DTO to map.
+     * @return A new Product without an ID.
+     * @throws InvalidProductException if the DTO is invalid.
+     */
+    public static Product toValidProduct(ProductDTO productDTO) {
+        ErrorCode error = validate(productDTO);
+        if (error != null) {
+            throw new InvalidProductException(error, error.getDefaultMessage());
+        }
+        return toProduct(productDTO);
+    }
+
+    /**
+     * Copies the DTO fields into a new Product. The ID is left for the database to assign.
+     */
+    public static Product toProduct(ProductDTO productDTO) {
+        Product product = new Product();
+        product.setName(productDTO.getName());
+        product.setDescription(productDTO.getDescription());
+        product.setColor(productDTO.getColor());
+        product.setPrice(productDTO.getPrice());
+        product.setStockQuantity(productDTO.getStockQuantity());
+        product.setLowStockThreshold(productDTO.getLowStockThreshold());
+        return product;
+    }
+
+    /**
+     * Checks a required text argument such as an ID, name or color.
+     *
+     * @throws InvalidProductException with the given message if the value is null or blank.
+     */
+    public static String requireText(String value, ErrorCode code, String message) {
+        if (isBlank(value)) {
+            throw new InvalidProductException(code, message);
+        }
+        return value;
+    }
+
+    /**
+     * Returns true for null, empty or whitespace-only strings without creating a trimmed copy.
+     */
+    public static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,7 +1,22 @@
 package com.example.unitTest;
 
-public class ProductNotFoundException extends RuntimeException {
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when no product matches a lookup. This is an expected outcome, so no
+ * stack trace is captured.
+ */
+public class ProductNotFoundException extends NoSuchElementException {
     public ProductNotFoundException(String message) {
         super(message);
     }
+
+    public ErrorCode getErrorCode() {
+        return ErrorCode.PRODUCT_NOT_FOUND;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.unitTest;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.function.Supplier;
+
+/**
+ * Write side of the transactional outbox. Product services run their write
+ * through {@link #execute(Supplier)} and call {@link #append} inside it, so
+ * the change and its outbox record commit or roll back together. When
+ * app.outbox.enabled is false writes run as before and nothing is appended.
+ */
+@Component
+public class ProductOutbox {
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactions;
+    private final Clock clock;
+
+    @Autowired
+    public ProductOutbox(MongoTemplate mongoTemplate, ObjectProvider<MongoTransactionManager> transactionManager) {
+        this(mongoTemplate, transactionManager.getIfAvailable(), Clock.systemUTC());
+    }
+
+    ProductOutbox(MongoTemplate mongoTemplate, MongoTransactionManager transactionManager, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactions = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs a product write, in a Mongo transaction when the outbox is enabled.
+     * Reads with their own read concern (the lookup repository methods) must
+     * happen before, as transactions do not allow per-operation read concerns.
+     */
+    public <T> T execute(Supplier<T> write) {
+        if (transactions == null) {
+            return write.get();
+        }
+        return transactions.execute(status -> write.get());
+    }
+
+    /**
+     * Records a product change for the relay. Must be called inside {@link #execute(Supplier)}.
+     */
+    public void append(OutboxRecord.Type type, String productId, Product product) {
+        if (transactions == null) {
+            return;
+        }
+        mongoTemplate.insert(new OutboxRecord(type, productId, product, clock.instant()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes soft-deleted products older than app.products.soft-delete.retention,
+ * starting at app.products.soft-delete.purge-cron. Deletes are throttled:
+ * one batch at a time with a pause in between, and the run stops after
+ * purge-max-run-time; what is left is purged the next night.
+ * <p>
+ * The cron trigger only hands the run to the job's own thread, so the pauses
+ * never hold the shared scheduler thread that also drives the outbox relay.
+ * A run first takes the lease in {@value #LEASE_COLLECTION} for
+ * purge-max-run-time, so only one instance purges however many are deployed.
+ */
+public class ProductPurgeJob implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductPurgeJob.class);
+
+    static final String LEASE_COLLECTION = "purge_lease";
+
+    private final ProductRepository productRepository;
+    private final SoftDeleteProperties properties;
+    private final Counter purged;
+    private final Clock clock;
+    private final MongoLease lease;
+    // One run at a time; a trigger while a run is still going is dropped
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "product-purge");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public ProductPurgeJob(ProductRepository productRepository, MongoTemplate mongoTemplate,
+                           SoftDeleteProperties properties, MeterRegistry meterRegistry) {
+        this(productRepository, mongoTemplate, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ProductPurgeJob(ProductRepository productRepository, MongoTemplate mongoTemplate,
+                    SoftDeleteProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.lease = new MongoLease(mongoTemplate, LEASE_COLLECTION, "purge", clock);
+        this.purged = Counter.builder("products.purged")
+                .description("Soft-deleted products removed by the purge job")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addCronTask(() -> executor.execute(this::purge), properties.getPurgeCron());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One purge run.
+     *
+     * @return The number of products removed, 0 if another instance holds the lease.
+     */
+    public long purge() {
+        if (!lease.hold(properties.getPurgeMaxRunTime())) {
+            log.info("Purge lease is held by another instance, skipping");
+            return 0;
+        }
+        Instant start = clock.instant();
+        Instant deadline = start.plus(properties.getPurgeMaxRunTime());
+        Instant deletedBefore = start.minus(properties.getRetention());
+        long total = 0;
+        while (clock.instant().isBefore(deadline)) {
+            long removed = productRepository.purgeDeleted(deletedBefore, properties.getPurgeBatchSize());
+            purged.increment(removed);
+            total += removed;
+            if (removed < properties.getPurgeBatchSize()) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        log.info("Purged {} soft-deleted products", total);
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPurgeBatchPause().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
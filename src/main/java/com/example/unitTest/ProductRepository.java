@@ -3,12 +3,22 @@ package com.example.unitTest;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface ProductRepository extends MongoRepository<Product, String> {
-    List<Product> findByName(String name);
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
 
-    List<Product> findByPriceBetween(double minPrice, double maxPrice);
+    // Served by ProductRepositoryImpl; redeclared to resolve the clash with CrudRepository.findById
+    @Override
+    Optional<Product> findById(String id);
 
-    List<Product> findByColor(String color);
+    // Served by ProductRepositoryImpl; redeclared to resolve the clash with ListCrudRepository.findAllById
+    @Override
+    List<Product> findAllById(Iterable<String> ids);
 
+    // Served by ProductRepositoryImpl so they are scoped to the current tenant
+    @Override
+    boolean existsById(String id);
+
+    @Override
+    void deleteById(String id);
 }
@@ -0,0 +1,91 @@
+package com.example.unitTest;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Product queries implemented with MongoTemplate so that each query type
+ * can carry its own read preference and read concern. All queries and
+ * deletes only see products of the current {@link TenantContext} tenant.
+ */
+public interface ProductRepositoryCustom {
+    List<Product> findAll();
+
+    /**
+     * Looks up one product with the lookup read settings (primary, majority).
+     */
+    Optional<Product> findById(String id);
+
+    /**
+     * Looks up several products in one $in query with the lookup read settings.
+     */
+    List<Product> findAllById(Iterable<String> ids);
+
+    List<Product> findByName(String name);
+
+    List<Product> findByPriceBetween(double minPrice, double maxPrice);
+
+    List<Product> findByColor(String color);
+
+    boolean existsById(String id);
+
+    /**
+     * Replaces a live product without upserting. The filter carries the stored
+     * shard key ({@code storedColor}), as mongos requires for a write that may
+     * move the document to another chunk, and {@code deletedAt: null}, so a
+     * product deleted since it was read is neither recreated nor undeleted.
+     *
+     * @return The product, or empty if no live product with the id and stored color exists.
+     */
+    Optional<Product> replaceLive(Product product, String storedColor);
+
+    void deleteById(String id);
+
+    /**
+     * Removes a live product in one findAndRemove, so the caller knows
+     * atomically whether this call deleted it.
+     *
+     * @return The removed product, or empty if no live product had the id.
+     */
+    Optional<Product> removeById(String id);
+
+    /**
+     * Marks a live product as deleted (app.products.soft-delete). It disappears
+     * from all queries at once and is removed later by {@link #purgeDeleted}.
+     *
+     * @return The product as it was before marking, or empty if no live product had the id.
+     */
+    Optional<Product> softDeleteById(String id, Instant deletedAt);
+
+    /**
+     * Removes at most {@code batchSize} products soft-deleted before the given
+     * time, across all tenants.
+     *
+     * @return The number of products removed; 0 when nothing is left to purge.
+     */
+    long purgeDeleted(Instant deletedBefore, int batchSize);
+
+    // Sorted, top-N variants: sort and limit are applied by Mongo, backed by the indexes on Product
+
+    List<Product> findAll(Sort sort, Limit limit);
+
+    List<Product> findByName(String name, Sort sort, Limit limit);
+
+    List<Product> findByPriceBetween(double minPrice, double maxPrice, Sort sort, Limit limit);
+
+    List<Product> findByColor(String color, Sort sort, Limit limit);
+
+    /**
+     * Finds products matching every criterion given in the search, in one query.
+     */
+    List<Product> search(ProductSearch search);
+
+    /**
+     * Same as {@link #search(ProductSearch)}, sorted and limited by Mongo.
+     */
+    List<Product> search(ProductSearch search, Sort sort, Limit limit);
+}
@@ -0,0 +1,190 @@
+package com.example.unitTest;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoReadProperties readProperties;
+    private final QueryDeadlines queryDeadlines;
+    private final MeterRegistry meterRegistry;
+
+    public ProductRepositoryImpl(MongoTemplate mongoTemplate, MongoReadProperties readProperties,
+                                 QueryDeadlines queryDeadlines, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.readProperties = readProperties;
+        this.queryDeadlines = queryDeadlines;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return list("findAll", new Query());
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        Query query = new Query(where("id").is(id)).limit(1);
+        return find("findById", query, readProperties.getLookup()).stream().findFirst();
+    }
+
+    @Override
+    public List<Product> findAllById(Iterable<String> ids) {
+        List<String> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        return find("findAllById", new Query(where("id").in(idList)), readProperties.getLookup());
+    }
+
+    @Override
+    public List<Product> findByName(String name) {
+        return list("findByName", new Query(where("name").is(name)));
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(double minPrice, double maxPrice) {
+        // Same bounds as the derived query it replaces: exclusive at both ends
+        return list("findByPriceBetween", new Query(where("price").gt(minPrice).lt(maxPrice)));
+    }
+
+    @Override
+    public List<Product> findByColor(String color) {
+        return list("findByColor", new Query(where("color").is(color)));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(new Query(where("id").is(id).and("tenantId").is(TenantContext.current())
+                .and("deletedAt").is(null)), Product.class);
+    }
+
+    @Override
+    public Optional<Product> replaceLive(Product product, String storedColor) {
+        Query stored = new Query(where("id").is(product.getId()).and("tenantId").is(product.getTenantId())
+                .and("color").is(storedColor).and("deletedAt").is(null));
+        return mongoTemplate.replace(stored, product).getMatchedCount() > 0 ? Optional.of(product) : Optional.empty();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        mongoTemplate.remove(new Query(where("id").is(id).and("tenantId").is(TenantContext.current())), Product.class);
+    }
+
+    @Override
+    public Optional<Product> removeById(String id) {
+        Query live = new Query(where("id").is(id).and("tenantId").is(TenantContext.current())
+                .and("deletedAt").is(null));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(live, Product.class));
+    }
+
+    @Override
+    public Optional<Product> softDeleteById(String id, Instant deletedAt) {
+        Query live = new Query(where("id").is(id).and("tenantId").is(TenantContext.current())
+                .and("deletedAt").is(null));
+        // Returns the document before the update, null if nothing matched
+        return Optional.ofNullable(mongoTemplate.findAndModify(live, Update.update("deletedAt", deletedAt),
+                Product.class));
+    }
+
+    @Override
+    public long purgeDeleted(Instant deletedBefore, int batchSize) {
+        Query expired = new Query(where("deletedAt").lt(deletedBefore)).limit(batchSize);
+        expired.fields().include("id");
+        List<String> ids = mongoTemplate.find(expired, Product.class).stream().map(Product::getId).toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(new Query(where("id").in(ids)), Product.class).getDeletedCount();
+    }
+
+    @Override
+    public List<Product> findAll(Sort sort, Limit limit) {
+        return list("findAll", new Query().with(sort).limit(limit));
+    }
+
+    @Override
+    public List<Product> findByName(String name, Sort sort, Limit limit) {
+        return list("findByName", new Query(where("name").is(name)).with(sort).limit(limit));
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(double minPrice, double maxPrice, Sort sort, Limit limit) {
+        return list("findByPriceBetween", new Query(where("price").gt(minPrice).lt(maxPrice)).with(sort).limit(limit));
+    }
+
+    @Override
+    public List<Product> findByColor(String color, Sort sort, Limit limit) {
+        return list("findByColor", new Query(where("color").is(color)).with(sort).limit(limit));
+    }
+
+    @Override
+    public List<Product> search(ProductSearch search) {
+        return search(search, Sort.unsorted(), Limit.unlimited());
+    }
+
+    @Override
+    public List<Product> search(ProductSearch search, Sort sort, Limit limit) {
+        Query query = new Query();
+        if (search.hasName()) {
+            query.addCriteria(where("name").is(search.getName()));
+        }
+        if (search.hasColor()) {
+            query.addCriteria(where("color").is(search.getColor()));
+        }
+        if (search.hasPriceRange()) {
+            // Exclusive bounds, like findByPriceBetween
+            Criteria price = where("price");
+            if (search.getMinPrice() != null) {
+                price.gt(search.getMinPrice());
+            }
+            if (search.getMaxPrice() != null) {
+                price.lt(search.getMaxPrice());
+            }
+            query.addCriteria(price);
+        }
+        return list("search", query.with(sort).limit(limit));
+    }
+
+    /**
+     * Runs a list query with the configured list read settings.
+     */
+    private List<Product> list(String queryName, Query query) {
+        return find(queryName, query, readProperties.getList());
+    }
+
+    private List<Product> find(String queryName, Query query, MongoReadProperties.ReadSettings settings) {
+        // Every query is scoped to the current tenant, the leading field of all product indexes
+        query.addCriteria(where("tenantId").is(TenantContext.current()));
+        // Soft-deleted products (app.products.soft-delete) are never returned; a missing field matches null
+        query.addCriteria(where("deletedAt").is(null));
+        ReadPreference readPreference = settings.toReadPreference();
+        query.withReadPreference(readPreference);
+        ReadConcern readConcern = settings.toReadConcern();
+        if (readConcern != null) {
+            query.withReadConcern(readConcern);
+        }
+        Counter.builder("products.queries")
+                .description("Product queries by query name and requested read preference")
+                .tag("query", queryName)
+                .tag("readPreference", readPreference.getName())
+                .register(meterRegistry)
+                .increment();
+        queryDeadlines.apply(queryName, query);
+        return queryDeadlines.execute(queryName, () -> mongoTemplate.find(query, Product.class));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.unitTest;
+
+/**
+ * Combined product search: any mix of name, color and price range, bound
+ * from the query string of GET /api/products/search.
+ * <p>
+ * With {@code match=all} (default) a product must satisfy every given
+ * criterion; with {@code match=any} it must satisfy at least one.
+ * {@code sort} and {@code limit} work as on the other list endpoints
+ * (see {@link ProductListOptions}).
+ */
+public class ProductSearch {
+
+    public enum Match {
+        ALL, ANY;
+
+        public static Match parse(String value) {
+            if (value == null || value.isBlank()) {
+                return ALL;
+            }
+            for (Match match : values()) {
+                if (match.name().equalsIgnoreCase(value.trim())) {
+                    return match;
+                }
+            }
+            throw new IllegalArgumentException("match must be 'all' or 'any'.");
+        }
+    }
+
+    private String name;
+    private String color;
+    private Double minPrice;
+    private Double maxPrice;
+    private String match;
+    private String sort;
+    private Integer limit;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public String getMatch() {
+        return match;
+    }
+
+    public void setMatch(String match) {
+        this.match = match;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean hasName() {
+        return name != null && !name.isBlank();
+    }
+
+    public boolean hasColor() {
+        return color != null && !color.isBlank();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    /**
+     * Checks that at least one criterion is given and that the price range is not inverted.
+     *
+     * @return The requested match mode.
+     * @throws IllegalArgumentException if the search is empty or invalid.
+     */
+    public Match validate() {
+        if (!hasName() && !hasColor() && !hasPriceRange()) {
+            throw new IllegalArgumentException("At least one of name, color, minPrice or maxPrice is required.");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice cannot be greater than maxPrice.");
+        }
+        return Match.parse(match);
+    }
+}
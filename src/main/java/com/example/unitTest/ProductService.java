@@ -1,16 +1,57 @@
 package com.example.unitTest;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
+@Observed(name = "product.service")
 @Service
 public class ProductService {
 
+    static final int MAX_BATCH_IDS = 100;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductStatistics productStatistics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductOutbox productOutbox;
+
+    @Autowired
+    @Qualifier("productQueryExecutor")
+    private Executor productQueryExecutor;
+
+    @Value("${app.products.soft-delete.enabled:false}")
+    private boolean softDelete;
+
+    // Identical concurrent list queries of the same tenant share one Mongo call (see SingleFlight)
+    private final SingleFlight<String, List<Product>> productQueries = new SingleFlight<>();
+
     /**
      * Retrieves all products from the repository.
      *
@@ -21,6 +62,20 @@ public class ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * Retrieves all products, sorted and limited by Mongo.
+     *
+     * @param options The sort order and limit.
+     * @return The products, at most the requested limit.
+     */
+    public List<Product> getAllProducts(ProductListOptions options) {
+        options.requireSortableBy(ProductListOptions.ALL_SORTS);
+        if (options.isDefault()) {
+            return getAllProducts();
+        }
+        return productRepository.findAll(options.sort(), options.limit());
+    }
+
 
     /**
      * Creates a new product based on the provided ProductDTO.
@@ -30,26 +85,46 @@ public class ProductService {
      * @throws InvalidProductException if the product data is invalid.
      */
     public Product createProduct(ProductDTO productDTO) {
-        // Validate product data
-        if (productDTO.getPrice() < 0) {
-            throw new InvalidProductException("Price cannot be negative.");
-        }
-        if (productDTO.getStockQuantity() < 0) {
-            throw new InvalidProductException("Stock quantity cannot be negative.");
-        }
-        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
-            throw new InvalidProductException("Product name cannot be null or empty.");
-        }
-        // Add more validations as needed
+        Product product = ProductMapper.toValidProduct(productDTO);
 
-        Product product = new Product();
-        product.setName(productDTO.getName());
-        product.setDescription(productDTO.getDescription());
-        product.setColor(productDTO.getColor());
-        product.setPrice(productDTO.getPrice());
-        product.setStockQuantity(productDTO.getStockQuantity());
+        Product saved = productOutbox.execute(() -> {
+            Product created = productRepository.save(product);
+            productOutbox.append(OutboxRecord.Type.CREATED, created.getId(), created);
+            return created;
+        });
+        productStatistics.added(saved);
+        eventPublisher.publishEvent(new ProductChangedEvent(null, saved));
+        return saved;
+    }
 
-        return productRepository.save(product);
+    /**
+     * Replaces an existing product with the provided ProductDTO.
+     *
+     * @param id         The ID of the product to update.
+     * @param productDTO The data transfer object containing the new product details.
+     * @return The saved product.
+     * @throws InvalidProductException if the product data is invalid.
+     * @throws ProductNotFoundException if the product does not exist.
+     */
+    public Product updateProduct(String id, ProductDTO productDTO) {
+        Product product = ProductMapper.toValidProduct(productDTO);
+        Product existing = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+        product.setId(id);
+        product.setTenantId(existing.getTenantId());
+
+        Product saved = productOutbox.execute(() -> {
+            // Conditional replace, never an upsert: a product deleted since the read above stays deleted
+            Product updated = productRepository.replaceLive(product, existing.getColor())
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+            productOutbox.append(OutboxRecord.Type.UPDATED, id, updated);
+            return updated;
+        });
+        productCache.evict(id);
+        productStatistics.removed(existing);
+        productStatistics.added(saved);
+        eventPublisher.publishEvent(new ProductChangedEvent(existing, saved));
+        return saved;
     }
 
 
@@ -75,14 +150,28 @@ public class ProductService {
     }
 */
     /**
-     * Deletes a product by its ID.
+     * Deletes a product by its ID. With app.products.soft-delete.enabled the
+     * product is only marked as deleted and removed later by the purge job.
      *
      * @param id The ID of the product to delete.
      */
     //Se till att en produkt raderas med dess ID.
     //Verifiera att repository deleteById-metod anropas med rätt ID.
    public void deleteProduct(String id) {
-        productRepository.deleteById(id);
+        // One findAndRemove/findAndModify inside the outbox transaction: only a delete that
+        // actually removed a live product is recorded, counted and published. Unknown ids stay a no-op.
+        Optional<Product> deleted = productOutbox.execute(() -> {
+            Optional<Product> removed = softDelete
+                    ? productRepository.softDeleteById(id, Instant.now())
+                    : productRepository.removeById(id);
+            removed.ifPresent(product -> productOutbox.append(OutboxRecord.Type.DELETED, id, product));
+            return removed;
+        });
+        productCache.evict(id);
+        deleted.ifPresent(product -> {
+            productStatistics.removed(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(product, null));
+        });
     }
 
     /**
@@ -101,6 +190,80 @@ public class ProductService {
         productRepository.deleteById(id);
     }*/
 
+    /**
+     * Retrieves a product by its ID, from the product cache when enabled.
+     *
+     * @param id The ID of the product.
+     * @return The product. Cached instances are shared and must not be modified.
+     * @throws ProductNotFoundException if the product does not exist.
+     */
+    public Product getProductById(String id) {
+        Product cached = productCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (productCache.isMissing(id)) {
+            throw new ProductNotFoundException("Product not found with id: " + id);
+        }
+        Optional<Product> product = productRepository.findById(id);
+        if (product.isEmpty()) {
+            productCache.putMissing(id);
+            throw new ProductNotFoundException("Product not found with id: " + id);
+        }
+        productCache.put(product.get());
+        return product.get();
+    }
+
+    /**
+     * Retrieves several products by ID. Cached products are served locally and
+     * the rest are loaded with a single $in query. Unknown IDs are skipped.
+     *
+     * @param ids The IDs of the products, at most {@value #MAX_BATCH_IDS}.
+     * @return The products that exist, in the order their IDs were requested.
+     * @throws IllegalArgumentException if no IDs or too many IDs are given.
+     */
+    public List<Product> getProductsByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one product ID is required.");
+        }
+        Set<String> requested = new LinkedHashSet<>(ids);
+        requested.removeIf(id -> id == null || id.isBlank());
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " product IDs per request.");
+        }
+
+        Map<String, Product> found = new HashMap<>();
+        List<String> toLoad = new ArrayList<>();
+        for (String id : requested) {
+            Product cached = productCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (!productCache.isMissing(id)) {
+                toLoad.add(id);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            for (Product product : productRepository.findAllById(toLoad)) {
+                found.put(product.getId(), product);
+                productCache.put(product);
+            }
+            for (String id : toLoad) {
+                if (!found.containsKey(id)) {
+                    productCache.putMissing(id);
+                }
+            }
+        }
+
+        List<Product> result = new ArrayList<>(found.size());
+        for (String id : requested) {
+            Product product = found.get(id);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
     /**
      * Retrieves products by their name.
      *
@@ -109,7 +272,24 @@ public class ProductService {
      */
     //Se till att den hämtar produkter som matchar det angivna namnet.
     public List<Product> getProductsByName(String name) {
-        return productRepository.findByName(name);
+        return productQueries.execute(TenantContext.current() + ":name:" + name,
+                () -> productRepository.findByName(name));
+    }
+
+    /**
+     * Retrieves products by their name, sorted and limited by Mongo.
+     *
+     * @param name    The name of the products to retrieve.
+     * @param options The sort order and limit.
+     * @return The matching products, at most the requested limit.
+     */
+    public List<Product> getProductsByName(String name, ProductListOptions options) {
+        options.requireSortableBy(ProductListOptions.NAME_SORTS);
+        if (options.isDefault()) {
+            return getProductsByName(name);
+        }
+        return productQueries.execute(TenantContext.current() + ":name:" + name + options.key(),
+                () -> productRepository.findByName(name, options.sort(), options.limit()));
     }
 
     /**
@@ -121,7 +301,25 @@ public class ProductService {
      */
     //Se till att den hämtar produkter inom den angivna prisklassen.
     public List<Product> getProductsByPriceRange(double minPrice, double maxPrice) {
-        return productRepository.findByPriceBetween(minPrice, maxPrice);
+        return productQueries.execute(TenantContext.current() + ":price:" + minPrice + ":" + maxPrice,
+                () -> productRepository.findByPriceBetween(minPrice, maxPrice));
+    }
+
+    /**
+     * Retrieves products within a price range, sorted and limited by Mongo.
+     *
+     * @param minPrice The minimum price.
+     * @param maxPrice The maximum price.
+     * @param options  The sort order and limit.
+     * @return The products within the price range, at most the requested limit.
+     */
+    public List<Product> getProductsByPriceRange(double minPrice, double maxPrice, ProductListOptions options) {
+        options.requireSortableBy(ProductListOptions.PRICE_RANGE_SORTS);
+        if (options.isDefault()) {
+            return getProductsByPriceRange(minPrice, maxPrice);
+        }
+        return productQueries.execute(TenantContext.current() + ":price:" + minPrice + ":" + maxPrice + options.key(),
+                () -> productRepository.findByPriceBetween(minPrice, maxPrice, options.sort(), options.limit()));
     }
 
     /**
@@ -132,7 +330,112 @@ public class ProductService {
      */
     //Se till att den hämtar produkter som matchar den givna färgen.
     public List<Product> getProductsByColor(String color) {
-        return productRepository.findByColor(color);
+        return productQueries.execute(TenantContext.current() + ":color:" + color,
+                () -> productRepository.findByColor(color));
+    }
+
+    /**
+     * Retrieves products by their color, sorted and limited by Mongo.
+     *
+     * @param color   The color of the products to retrieve.
+     * @param options The sort order and limit.
+     * @return The matching products, at most the requested limit.
+     */
+    public List<Product> getProductsByColor(String color, ProductListOptions options) {
+        options.requireSortableBy(ProductListOptions.COLOR_SORTS);
+        if (options.isDefault()) {
+            return getProductsByColor(color);
+        }
+        return productQueries.execute(TenantContext.current() + ":color:" + color + options.key(),
+                () -> productRepository.findByColor(color, options.sort(), options.limit()));
+    }
+
+    /**
+     * Searches products by any mix of name, color and price range.
+     * <p>
+     * With match=all the criteria are combined into a single Mongo query. With
+     * match=any each criterion runs as its own query, concurrently on the product
+     * query executor, and the results are merged without duplicates. A sort and
+     * limit are pushed down into every sub-query and applied again to the merge.
+     *
+     * @param search The search criteria.
+     * @return The matching products.
+     * @throws IllegalArgumentException if no criterion is given or the search is invalid.
+     */
+    public List<Product> searchProducts(ProductSearch search) {
+        if (search == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null.");
+        }
+        ProductSearch.Match match = search.validate();
+        ProductListOptions options = ProductListOptions.of(search.getSort(), search.getLimit());
+        if (match == ProductSearch.Match.ALL) {
+            // The most selective equality filter decides the index, and with it the sortable fields
+            options.requireSortableBy(search.hasName() ? ProductListOptions.NAME_SORTS
+                    : search.hasColor() ? ProductListOptions.COLOR_SORTS
+                    : search.hasPriceRange() ? ProductListOptions.PRICE_RANGE_SORTS
+                    : ProductListOptions.ALL_SORTS);
+            if (options.isDefault()) {
+                return productRepository.search(search);
+            }
+            return productRepository.search(search, options.sort(), options.limit());
+        }
+
+        List<Supplier<List<Product>>> subQueries = new ArrayList<>(3);
+        if (search.hasName()) {
+            subQueries.add(() -> getProductsByName(search.getName(), options));
+        }
+        if (search.hasColor()) {
+            subQueries.add(() -> getProductsByColor(search.getColor(), options));
+        }
+        if (search.hasPriceRange()) {
+            double min = search.getMinPrice() != null ? search.getMinPrice() : Double.NEGATIVE_INFINITY;
+            double max = search.getMaxPrice() != null ? search.getMaxPrice() : Double.POSITIVE_INFINITY;
+            subQueries.add(() -> getProductsByPriceRange(min, max, options));
+        }
+        if (subQueries.size() == 1) {
+            return subQueries.get(0).get();
+        }
+
+        List<CompletableFuture<List<Product>>> futures = new ArrayList<>(subQueries.size());
+        for (Supplier<List<Product>> subQuery : subQueries) {
+            futures.add(CompletableFuture.supplyAsync(subQuery, productQueryExecutor));
+        }
+        Map<String, Product> merged = new LinkedHashMap<>();
+        for (CompletableFuture<List<Product>> future : futures) {
+            for (Product product : join(future)) {
+                merged.putIfAbsent(product.getId(), product);
+            }
+        }
+        return options.applyTo(new ArrayList<>(merged.values()));
+    }
+
+    private static List<Product> join(CompletableFuture<List<Product>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns approximate catalog statistics without scanning the collection.
+     *
+     * @return The estimated total, counts per color and distinct-name cardinality.
+     */
+    public ProductStats getProductStats() {
+        return productStatistics.stats();
+    }
+
+    /**
+     * Returns the coalescer shared by the name, color and price range queries.
+     *
+     * @return The single-flight instance, used for metrics.
+     */
+    public SingleFlight<String, List<Product>> getProductQueries() {
+        return productQueries;
     }
 
 }
@@ -0,0 +1,200 @@
+package com.example.unitTest;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Cheap product statistics for dashboards. The per-color counters and the
+ * distinct-name sketch are seeded with one aggregation, then updated in
+ * memory on every create and delete, so reading them costs no query. They
+ * are re-seeded after app.products.stats.resync-interval to pick up writes
+ * made by other instances, or after {@link #invalidate()}. Statistics are
+ * kept per tenant and seeded with a query on that tenant's index range; only
+ * the app.tenants.max-tracked most recently used tenants stay in memory.
+ * <p>
+ * Seeding is single-flight per tenant: one caller runs the aggregation, bounded
+ * by maxTimeMS "productStats" (see {@link QueryDeadlines}), while other callers
+ * of that tenant keep reading the previous counts, or wait for the seed if
+ * there are none yet. Other tenants are never blocked.
+ */
+@Component
+public class ProductStatistics {
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryDeadlines queryDeadlines;
+    private final Duration resyncInterval;
+    private final Clock clock;
+
+    private final Map<String, Counts> countsByTenant;
+    private final Map<String, CompletableFuture<Counts>> seeding = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductStatistics(MongoTemplate mongoTemplate, QueryDeadlines queryDeadlines,
+                             @Value("${app.products.stats.resync-interval:10m}") Duration resyncInterval,
+                             @Value("${app.tenants.max-tracked:1000}") int maxTenants) {
+        this(mongoTemplate, queryDeadlines, resyncInterval, maxTenants, Clock.systemUTC());
+    }
+
+    ProductStatistics(MongoTemplate mongoTemplate, QueryDeadlines queryDeadlines, Duration resyncInterval,
+                      int maxTenants, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryDeadlines = queryDeadlines;
+        this.resyncInterval = resyncInterval;
+        this.clock = clock;
+        // Evicting a tenant only costs a re-seed on its next read
+        this.countsByTenant = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Counts> eldest) {
+                return size() > maxTenants;
+            }
+        });
+    }
+
+    /**
+     * Returns the current tenant's statistics, seeding its counters first when needed.
+     */
+    public ProductStats stats() {
+        Counts current = current(TenantContext.current());
+        Map<String, Long> byColor = new TreeMap<>();
+        current.colors.forEach((color, count) -> byColor.put(color, count.sum()));
+        // The collection-wide estimatedCount would include every tenant
+        long total = byColor.values().stream().mapToLong(Long::longValue).sum();
+        return new ProductStats(total, byColor, current.names.estimate(), current.seededAt);
+    }
+
+    /**
+     * Counts a created product. Ignored until the counters have been seeded.
+     */
+    public void added(Product product) {
+        if (product == null) {
+            return;
+        }
+        Counts current = countsByTenant.get(tenantOf(product));
+        if (current == null) {
+            return;
+        }
+        current.colors.computeIfAbsent(key(product.getColor()), color -> new LongAdder()).increment();
+        current.names.add(product.getName());
+    }
+
+    /**
+     * Uncounts a deleted product. The name stays in the sketch, which cannot
+     * remove elements, so distinct names only shrink at the next re-seed.
+     */
+    public void removed(Product product) {
+        if (product == null) {
+            return;
+        }
+        Counts current = countsByTenant.get(tenantOf(product));
+        if (current == null) {
+            return;
+        }
+        LongAdder count = current.colors.get(key(product.getColor()));
+        if (count != null) {
+            count.decrement();
+        }
+    }
+
+    /**
+     * Forces a re-seed of the current tenant on the next read, for changes whose product is not known.
+     */
+    public void invalidate() {
+        countsByTenant.remove(TenantContext.current());
+    }
+
+    private Counts current(String tenantId) {
+        Counts current = countsByTenant.get(tenantId);
+        if (isFresh(current)) {
+            return current;
+        }
+        CompletableFuture<Counts> mine = new CompletableFuture<>();
+        CompletableFuture<Counts> running = seeding.putIfAbsent(tenantId, mine);
+        if (running != null) {
+            return current != null ? current : await(running);
+        }
+        try {
+            // Another caller may have finished a seed between the first read and putIfAbsent
+            Counts latest = countsByTenant.get(tenantId);
+            Counts seeded = isFresh(latest) ? latest : seed(tenantId);
+            countsByTenant.put(tenantId, seeded);
+            mine.complete(seeded);
+            return seeded;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            seeding.remove(tenantId, mine);
+        }
+    }
+
+    private boolean isFresh(Counts counts) {
+        return counts != null && counts.seededAt.plus(resyncInterval).isAfter(clock.instant());
+    }
+
+    private static Counts await(CompletableFuture<Counts> seed) {
+        try {
+            return seed.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private Counts seed(String tenantId) {
+        Counts seeded = new Counts(clock.instant());
+        Aggregation byColorAndName = Aggregation.newAggregation(
+                Aggregation.match(where("tenantId").is(tenantId).and("deletedAt").is(null)),
+                Aggregation.group("color", "name").count().as("count"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true)
+                        .maxTime(queryDeadlines.maxTime("productStats")).build());
+        return queryDeadlines.execute("productStats", () -> {
+            try (Stream<Document> groups = mongoTemplate.aggregateStream(byColorAndName, Product.class,
+                    Document.class)) {
+                groups.forEach(group -> {
+                    Document id = group.get("_id", Document.class);
+                    seeded.colors.computeIfAbsent(key(id.getString("color")), color -> new LongAdder())
+                            .add(((Number) group.get("count")).longValue());
+                    seeded.names.add(id.getString("name"));
+                });
+            }
+            return seeded;
+        });
+    }
+
+    private static String tenantOf(Product product) {
+        return product.getTenantId() != null ? product.getTenantId() : TenantContext.current();
+    }
+
+    private static String key(String color) {
+        return color != null ? color : "";
+    }
+
+    private static final class Counts {
+        final Map<String, LongAdder> colors = new ConcurrentHashMap<>();
+        final HyperLogLog names = new HyperLogLog();
+        final Instant seededAt;
+
+        Counts(Instant seededAt) {
+            this.seededAt = seededAt;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.unitTest;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Response of GET /api/products/stats for the requesting tenant. All numbers
+ * are approximate: the per-color counts are maintained in memory since
+ * {@code countedSince}, the total is their sum and the distinct names are
+ * estimated.
+ */
+public record ProductStats(long estimatedTotal, Map<String, Long> countsByColor, long distinctNames,
+                           Instant countedSince) {
+}
@@ -0,0 +1,66 @@
+package com.example.unitTest;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Applies maxTimeMS to repository queries, capped by the remaining request
+ * deadline, so Mongo stops working on a query once nobody waits for it.
+ */
+@Component
+public class QueryDeadlines {
+
+    private final QueryTimeoutProperties properties;
+
+    public QueryDeadlines(QueryTimeoutProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Sets maxTimeMS on the query.
+     *
+     * @throws QueryTimeoutException if the request deadline has already passed.
+     */
+    public Query apply(String queryName, Query query) {
+        return query.maxTime(maxTime(queryName));
+    }
+
+    /**
+     * Returns the maxTimeMS for the query, capped by the request deadline.
+     *
+     * @throws QueryTimeoutException if the request deadline has already passed.
+     */
+    public Duration maxTime(String queryName) {
+        Duration maxTime = properties.maxTimeFor(queryName);
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return maxTime;
+        }
+        if (remaining.toMillis() <= 0) {
+            throw new QueryTimeoutException("Request deadline exceeded before " + queryName);
+        }
+        return remaining.compareTo(maxTime) < 0 ? remaining : maxTime;
+    }
+
+    /**
+     * Runs a query and reports a server-side time limit as {@link QueryTimeoutException}.
+     */
+    public <T> T execute(String queryName, Supplier<T> query) {
+        try {
+            return query.get();
+        } catch (MongoExecutionTimeoutException ex) {
+            throw new QueryTimeoutException(queryName + " exceeded its time limit", ex);
+        } catch (DataAccessException ex) {
+            if (ex.getCause() instanceof MongoExecutionTimeoutException) {
+                throw new QueryTimeoutException(queryName + " exceeded its time limit", ex);
+            }
+            throw ex;
+        }
+    }
+}
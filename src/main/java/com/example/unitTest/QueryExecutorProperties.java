@@ -0,0 +1,39 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bounded pool that runs the sub-queries of a {@code match=any} product search
+ * concurrently. When the queue is full the request thread runs the sub-query itself.
+ */
+@ConfigurationProperties(prefix = "app.products.query-executor")
+public class QueryExecutorProperties {
+
+    private int corePoolSize = 8;
+    private int maxPoolSize = 16;
+    private int queueCapacity = 100;
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public void setCorePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.unitTest;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs explain (executionStats) for sampled slow queries on a single
+ * background thread and attaches the winning plan to the slow query entry.
+ * When the small queue is full further samples are dropped.
+ */
+@Component
+public class QueryPlanExplainer {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanExplainer.class);
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    // MongoTemplate is looked up lazily: the Mongo client is built with the listener that calls us
+    public QueryPlanExplainer(ObjectProvider<MongoTemplate> mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Schedules an explain of the given command and records the result on the slow query.
+     */
+    public void explain(SlowQuery slowQuery, BsonDocument command) {
+        executor.execute(() -> run(slowQuery, command));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(SlowQuery slowQuery, BsonDocument command) {
+        try {
+            BsonDocument explain = new BsonDocument("explain", command)
+                    .append("verbosity", new BsonString("executionStats"));
+            Document result = mongoTemplate.getObject().getMongoDatabaseFactory()
+                    .getMongoDatabase(slowQuery.getDatabase())
+                    .runCommand(explain);
+            Object winningPlan = findFirst(result, "winningPlan");
+            Object executionStats = findFirst(result, "executionStats");
+            String plan = winningPlan != null ? summarizePlan(winningPlan) : null;
+            slowQuery.setPlan(plan, stat(executionStats, "totalDocsExamined"), stat(executionStats, "totalKeysExamined"));
+            log.warn("slow_query_plan collection={} command={} shape={} plan={} docsExamined={} keysExamined={} docsReturned={}",
+                    slowQuery.getCollection(), slowQuery.getCommand(), slowQuery.getShape(), plan,
+                    slowQuery.getDocsExamined(), slowQuery.getKeysExamined(), slowQuery.getDocsReturned());
+        } catch (RuntimeException ex) {
+            log.debug("Explain failed for slow {} on {}", slowQuery.getCommand(), slowQuery.getCollection(), ex);
+        }
+    }
+
+    /**
+     * Flattens a winning plan into its stages, outermost first, e.g.
+     * {@code FETCH > IXSCAN(color_1_price_1)} or {@code COLLSCAN}.
+     */
+    static String summarizePlan(Object plan) {
+        List<String> stages = new ArrayList<>();
+        collectStages(plan, stages);
+        return String.join(" > ", stages);
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof List<?> list) {
+            list.forEach(element -> collectStages(element, stages));
+        } else if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage != null) {
+                Object indexName = document.get("indexName");
+                stages.add(indexName != null ? stage + "(" + indexName + ")" : stage.toString());
+            }
+            for (String child : new String[]{"queryPlan", "winningPlan", "shards", "inputStage", "inputStages"}) {
+                collectStages(document.get(child), stages);
+            }
+        }
+    }
+
+    private static Object findFirst(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.containsKey(key)) {
+                return document.get(key);
+            }
+            for (Object value : document.values()) {
+                Object found = findFirst(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object element : list) {
+                Object found = findFirst(element, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Long stat(Object executionStats, String key) {
+        return executionStats instanceof Document stats && stats.get(key) instanceof Number number
+                ? number.longValue() : null;
+    }
+}
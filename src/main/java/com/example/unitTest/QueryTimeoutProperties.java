@@ -0,0 +1,63 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Server-side time limits (maxTimeMS) for repository queries and the
+ * default deadline for API requests.
+ */
+@ConfigurationProperties(prefix = "app.mongo.timeouts")
+public class QueryTimeoutProperties {
+
+    /** maxTimeMS for queries without an entry in {@link #queries}. */
+    private Duration defaultMaxTime = Duration.ofSeconds(5);
+
+    /** maxTimeMS per query name, e.g. findByPriceBetween=2s. */
+    private Map<String, Duration> queries = new HashMap<>();
+
+    /** Deadline for a whole API request; clients may only shorten it. */
+    private Duration requestDeadline = Duration.ofSeconds(10);
+
+    /** Header a client can use to send a shorter deadline, e.g. 500ms or 2s. */
+    private String deadlineHeader = "X-Request-Timeout";
+
+    public Duration getDefaultMaxTime() {
+        return defaultMaxTime;
+    }
+
+    public void setDefaultMaxTime(Duration defaultMaxTime) {
+        this.defaultMaxTime = defaultMaxTime;
+    }
+
+    public Map<String, Duration> getQueries() {
+        return queries;
+    }
+
+    public void setQueries(Map<String, Duration> queries) {
+        this.queries = queries;
+    }
+
+    public Duration getRequestDeadline() {
+        return requestDeadline;
+    }
+
+    public void setRequestDeadline(Duration requestDeadline) {
+        this.requestDeadline = requestDeadline;
+    }
+
+    public String getDeadlineHeader() {
+        return deadlineHeader;
+    }
+
+    public void setDeadlineHeader(String deadlineHeader) {
+        this.deadlineHeader = deadlineHeader;
+    }
+
+    public Duration maxTimeFor(String queryName) {
+        return queries.getOrDefault(queryName, defaultMaxTime);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.unitTest;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-stock sink that buffers events in a bounded in-memory queue for a
+ * consumer to drain, e.g. a relay to a message broker. When the queue is
+ * full new events are dropped and counted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.low-stock.sink", havingValue = "queue")
+public class QueueLowStockSink implements LowStockSink {
+
+    private final BlockingQueue<LowStockEvent> queue;
+    private final LongAdder dropped = new LongAdder();
+
+    public QueueLowStockSink(LowStockProperties properties) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueue().getCapacity());
+    }
+
+    @Override
+    public void publish(LowStockEvent event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code max} queued events, oldest first.
+     */
+    public List<LowStockEvent> drain(int max) {
+        List<LowStockEvent> events = new ArrayList<>(Math.min(max, queue.size()));
+        queue.drainTo(events, max);
+        return events;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.unitTest;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Set;
+
+/**
+ * Counts read commands by the type of server that actually served them,
+ * so the primary/secondary traffic split is visible in metrics.
+ */
+public class ReadRoutingCommandListener implements CommandListener {
+
+    private static final Set<String> READ_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "getMore");
+
+    private final MeterRegistry meterRegistry;
+
+    public ReadRoutingCommandListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!READ_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        Counter.builder("mongodb.reads")
+                .description("Read commands by command name and serving server type")
+                .tag("command", event.getCommandName())
+                .tag("serverType", event.getConnectionDescription().getServerType().name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits above which the readiness probe reports the instance as out of
+ * service, so the orchestrator stops routing traffic to it until it recovers.
+ */
+@ConfigurationProperties(prefix = "app.health.readiness")
+public class ReadinessProperties {
+
+    /** Slowest acceptable Mongo ping round trip. */
+    private Duration maxMongoLatency = Duration.ofMillis(500);
+
+    /**
+     * Longest the check waits for the ping, including connection checkout and
+     * the network round trip; a ping that does not answer in time marks Mongo as down.
+     */
+    private Duration mongoPingTimeout = Duration.ofSeconds(2);
+
+    /** Most requests allowed to wait for a pooled Mongo connection at once. */
+    private int maxPoolWaitQueue = 20;
+
+    /**
+     * Most product API requests allowed in flight at once, queued ones included.
+     * Bulkheads cap in-flight requests at their total max-concurrent plus
+     * max-queued (150 by default), so keep this below that total or the
+     * limit is never reached.
+     */
+    private int maxInFlightRequests = 120;
+
+    public Duration getMaxMongoLatency() {
+        return maxMongoLatency;
+    }
+
+    public void setMaxMongoLatency(Duration maxMongoLatency) {
+        this.maxMongoLatency = maxMongoLatency;
+    }
+
+    public Duration getMongoPingTimeout() {
+        return mongoPingTimeout;
+    }
+
+    public void setMongoPingTimeout(Duration mongoPingTimeout) {
+        this.mongoPingTimeout = mongoPingTimeout;
+    }
+
+    public int getMaxPoolWaitQueue() {
+        return maxPoolWaitQueue;
+    }
+
+    public void setMaxPoolWaitQueue(int maxPoolWaitQueue) {
+        this.maxPoolWaitQueue = maxPoolWaitQueue;
+    }
+
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+}
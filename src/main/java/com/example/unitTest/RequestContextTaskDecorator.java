@@ -0,0 +1,29 @@
+package com.example.unitTest;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting request's context (its deadline and tenant) over to
+ * the worker thread, so fanned-out queries honour the same time limit and
+ * stay within the same tenant.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        Long deadline = RequestDeadline.current();
+        String tenantId = TenantContext.captured();
+        return () -> {
+            Long previous = RequestDeadline.current();
+            String previousTenantId = TenantContext.captured();
+            RequestDeadline.restore(deadline);
+            TenantContext.restore(tenantId);
+            try {
+                task.run();
+            } finally {
+                RequestDeadline.restore(previous);
+                TenantContext.restore(previousTenantId);
+            }
+        };
+    }
+}
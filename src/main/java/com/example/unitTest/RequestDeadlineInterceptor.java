@@ -0,0 +1,46 @@
+package com.example.unitTest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Starts the request deadline for API calls. A client may send a shorter
+ * deadline in the configured header; longer values are capped.
+ */
+@Component
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+
+    private final QueryTimeoutProperties properties;
+
+    public RequestDeadlineInterceptor(QueryTimeoutProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration deadline = properties.getRequestDeadline();
+        String header = request.getHeader(properties.getDeadlineHeader());
+        if (header != null && !header.isBlank()) {
+            try {
+                Duration requested = DurationStyle.detectAndParse(header.trim());
+                if (requested.compareTo(deadline) < 0) {
+                    deadline = requested;
+                }
+            } catch (IllegalArgumentException ex) {
+                // Ignore malformed values and keep the configured deadline
+            }
+        }
+        RequestDeadline.start(deadline);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+}
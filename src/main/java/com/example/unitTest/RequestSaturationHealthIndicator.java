@@ -0,0 +1,32 @@
+package com.example.unitTest;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness contribution "requestSaturation": OUT_OF_SERVICE while more
+ * product API requests are in flight than app.health.readiness.max-in-flight-requests,
+ * so new traffic goes to other instances until this one has caught up.
+ */
+@Component
+public class RequestSaturationHealthIndicator implements HealthIndicator {
+
+    private final InFlightRequests inFlightRequests;
+    private final ReadinessProperties properties;
+
+    public RequestSaturationHealthIndicator(InFlightRequests inFlightRequests, ReadinessProperties properties) {
+        this.inFlightRequests = inFlightRequests;
+        this.properties = properties;
+    }
+
+    @Override
+    public Health health() {
+        int inFlight = inFlightRequests.current();
+        return Health.status(inFlight > properties.getMaxInFlightRequests() ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("inFlight", inFlight)
+                .withDetail("maxInFlight", properties.getMaxInFlightRequests())
+                .build();
+    }
+}
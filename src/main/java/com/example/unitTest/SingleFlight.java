@@ -0,0 +1,86 @@
+package com.example.unitTest;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one: the first caller for a key
+ * executes the call, callers arriving while it is in flight wait for and share
+ * its result. Nothing is cached once the call completes.
+ *
+ * @param <K> The key identifying identical calls.
+ * @param <V> The result type. Results are shared between callers and must be treated as read-only.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * Executes the call, or joins an identical call that is already in flight.
+     * A joining caller waits no longer than its own request deadline.
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /** Number of calls that were actually executed. */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /** Number of calls that shared another caller's in-flight result. */
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            Duration remaining = RequestDeadline.remaining();
+            if (remaining == null) {
+                return flight.join();
+            }
+            return flight.get(Math.max(0, remaining.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (CompletionException | ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException("Request deadline exceeded while waiting for a shared query");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for a shared query");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.unitTest;
+
+import java.time.Instant;
+
+/**
+ * One slow Mongo command. The plan fields are filled in later, and only for
+ * the commands that were sampled for explain.
+ */
+public class SlowQuery {
+
+    private final Instant timestamp;
+    private final String database;
+    private final String collection;
+    private final String command;
+    private final String shape;
+    private final long durationMs;
+    private final Long docsReturned;
+
+    private volatile String winningPlan;
+    private volatile Long docsExamined;
+    private volatile Long keysExamined;
+
+    public SlowQuery(Instant timestamp, String database, String collection, String command, String shape,
+                     long durationMs, Long docsReturned) {
+        this.timestamp = timestamp;
+        this.database = database;
+        this.collection = collection;
+        this.command = command;
+        this.shape = shape;
+        this.durationMs = durationMs;
+        this.docsReturned = docsReturned;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public Long getDocsReturned() {
+        return docsReturned;
+    }
+
+    public String getWinningPlan() {
+        return winningPlan;
+    }
+
+    public Long getDocsExamined() {
+        return docsExamined;
+    }
+
+    public Long getKeysExamined() {
+        return keysExamined;
+    }
+
+    void setPlan(String winningPlan, Long docsExamined, Long keysExamined) {
+        this.docsExamined = docsExamined;
+        this.keysExamined = keysExamined;
+        this.winningPlan = winningPlan;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.unitTest;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Mongo commands that take longer than app.mongo.slow-query.threshold
+ * with their filter shape (values replaced by {@code ?}) and documents
+ * returned. A sample of slow reads is handed to {@link QueryPlanExplainer};
+ * explain commands themselves are never tracked.
+ */
+public class SlowQueryCommandListener implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryCommandListener.class);
+
+    private static final Set<String> TRACKED_COMMANDS =
+            Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryLog slowQueryLog;
+    private final QueryPlanExplainer explainer;
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+
+    public SlowQueryCommandListener(SlowQueryProperties properties, SlowQueryLog slowQueryLog,
+                                    QueryPlanExplainer explainer, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.slowQueryLog = slowQueryLog;
+        this.explainer = explainer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!properties.isEnabled() || !TRACKED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        // The event's command document is only valid during the callback, keep a copy of what we need:
+        // the filter for the shape, and an explain command only for the sampled share of commands
+        BsonDocument command = event.getCommand();
+        String commandName = event.getCommandName();
+        BsonValue collection = command.get(commandName);
+        BsonValue filter = filterOf(commandName, command);
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < properties.getExplainSampleRate();
+        pending.put(event.getRequestId(), new Pending(
+                collection != null && collection.isString() ? collection.asString().getValue() : null,
+                filter,
+                sampled ? explainable(commandName, command, filter) : null));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Pending started = pending.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        long durationMs = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (durationMs < properties.getThreshold().toMillis()) {
+            return;
+        }
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), event.getDatabaseName(), started.collection(),
+                event.getCommandName(), started.filter() != null ? shape(started.filter()) : null,
+                durationMs, docsReturned(event.getCommandName(), event.getResponse()));
+        slowQueryLog.record(slowQuery);
+        Counter.builder("mongodb.commands.slow")
+                .description("Mongo commands slower than app.mongo.slow-query.threshold")
+                .tag("command", event.getCommandName())
+                .tag("collection", String.valueOf(started.collection()))
+                .register(meterRegistry)
+                .increment();
+        log.warn("slow_query db={} collection={} command={} durationMs={} docsReturned={} shape={}",
+                slowQuery.getDatabase(), slowQuery.getCollection(), slowQuery.getCommand(), durationMs,
+                slowQuery.getDocsReturned(), slowQuery.getShape());
+
+        if (started.explainable() != null) {
+            explainer.explain(slowQuery, started.explainable());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        pending.remove(event.getRequestId());
+    }
+
+    /**
+     * Renders the structure of a filter or pipeline with every value replaced
+     * by {@code ?}, so queries that differ only in their values group together.
+     */
+    static String shape(BsonValue value) {
+        StringBuilder builder = new StringBuilder();
+        appendShape(value, builder);
+        return builder.toString();
+    }
+
+    private static void appendShape(BsonValue value, StringBuilder builder) {
+        if (value.isDocument()) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                first = false;
+                builder.append(entry.getKey()).append(": ");
+                appendShape(entry.getValue(), builder);
+            }
+            builder.append('}');
+        } else if (value.isArray() && !value.asArray().isEmpty()
+                && value.asArray().stream().allMatch(BsonValue::isDocument)) {
+            // $and/$or clauses and aggregation pipelines keep their structure
+            builder.append('[');
+            BsonArray array = value.asArray();
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                appendShape(array.get(i), builder);
+            }
+            builder.append(']');
+        } else {
+            builder.append('?');
+        }
+    }
+
+    private static BsonValue filterOf(String commandName, BsonDocument command) {
+        BsonValue filter = switch (commandName) {
+            case "update" -> firstStatementFilter(command.get("updates"));
+            case "delete" -> firstStatementFilter(command.get("deletes"));
+            default -> {
+                String field = filterField(commandName);
+                yield field != null ? command.get(field) : null;
+            }
+        };
+        return filter != null ? copy(filter) : null;
+    }
+
+    private static String filterField(String commandName) {
+        return switch (commandName) {
+            case "find" -> "filter";
+            case "count", "distinct", "findAndModify" -> "query";
+            case "aggregate" -> "pipeline";
+            default -> null;
+        };
+    }
+
+    private static BsonValue firstStatementFilter(BsonValue statements) {
+        if (statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                && statements.asArray().get(0).isDocument()) {
+            return statements.asArray().get(0).asDocument().get("q");
+        }
+        return null;
+    }
+
+    /**
+     * Returns a minimal copy of a read command that can be wrapped in explain,
+     * without session, read concern or cluster time fields. The filter copied
+     * for the shape is reused rather than copied again.
+     */
+    private static BsonDocument explainable(String commandName, BsonDocument command, BsonValue filter) {
+        String filterField = filterField(commandName);
+        String[] fields = switch (commandName) {
+            case "find" -> new String[]{"find", "filter", "sort", "projection", "hint", "skip", "limit"};
+            case "aggregate" -> new String[]{"aggregate", "pipeline", "cursor"};
+            case "count" -> new String[]{"count", "query", "hint", "skip", "limit"};
+            case "distinct" -> new String[]{"distinct", "key", "query"};
+            default -> null;
+        };
+        if (fields == null) {
+            return null;
+        }
+        BsonDocument explainable = new BsonDocument();
+        for (String field : fields) {
+            if (field.equals(filterField)) {
+                if (filter != null) {
+                    explainable.append(field, filter);
+                }
+                continue;
+            }
+            BsonValue value = command.get(field);
+            if (value != null) {
+                explainable.append(field, copy(value));
+            }
+        }
+        return explainable;
+    }
+
+    private static BsonValue copy(BsonValue value) {
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        if (value.isArray()) {
+            return value.asArray().clone();
+        }
+        return value;
+    }
+
+    private static Long docsReturned(String commandName, BsonDocument response) {
+        switch (commandName) {
+            case "find", "aggregate" -> {
+                BsonValue cursor = response.get("cursor");
+                if (cursor != null && cursor.isDocument() && cursor.asDocument().isArray("firstBatch")) {
+                    return (long) cursor.asDocument().getArray("firstBatch").size();
+                }
+            }
+            case "distinct" -> {
+                if (response.isArray("values")) {
+                    return (long) response.getArray("values").size();
+                }
+            }
+            default -> {
+                BsonValue n = response.get("n");
+                if (n != null && n.isNumber()) {
+                    return n.asNumber().longValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private record Pending(String collection, BsonValue filter, BsonDocument explainable) {
+    }
+}
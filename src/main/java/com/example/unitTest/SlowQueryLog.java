@@ -0,0 +1,49 @@
+package com.example.unitTest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of the most recent slow queries. Recording never
+ * blocks or allocates beyond the entry itself; the oldest entry is overwritten.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final AtomicReferenceArray<SlowQuery> entries;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.entries = new AtomicReferenceArray<>(Math.max(1, properties.getCapacity()));
+    }
+
+    public void record(SlowQuery slowQuery) {
+        entries.set((int) (next.getAndIncrement() % entries.length()), slowQuery);
+    }
+
+    /**
+     * Returns the retained slow queries, most recent first.
+     */
+    public List<SlowQuery> recent() {
+        long last = next.get() - 1;
+        int count = (int) Math.min(entries.length(), last + 1);
+        List<SlowQuery> result = new ArrayList<>(count);
+        for (long i = last; i > last - count; i--) {
+            SlowQuery entry = entries.get((int) (i % entries.length()));
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
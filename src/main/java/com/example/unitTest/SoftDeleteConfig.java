@@ -0,0 +1,23 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Schedules the purge of soft-deleted products, only with app.products.soft-delete.enabled=true.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.products.soft-delete.enabled", havingValue = "true")
+public class SoftDeleteConfig {
+
+    @Bean
+    public ProductPurgeJob productPurgeJob(ProductRepository productRepository, MongoTemplate mongoTemplate,
+                                           SoftDeleteProperties properties, MeterRegistry meterRegistry) {
+        return new ProductPurgeJob(productRepository, mongoTemplate, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Soft delete: DELETE /api/products/{id} only sets deletedAt, and a purge job
+ * removes marked products later, in small batches inside an off-peak window.
+ * Disabled by default (products are removed at once).
+ */
+@ConfigurationProperties(prefix = "app.products.soft-delete")
+public class SoftDeleteProperties {
+
+    private boolean enabled = false;
+
+    /** How long soft-deleted products are kept before they may be purged. */
+    private Duration retention = Duration.ofDays(1);
+
+    /** When the purge job starts (Spring cron, server time zone). */
+    private String purgeCron = "0 0 3 * * *";
+
+    /** Products removed per delete command. */
+    private int purgeBatchSize = 500;
+
+    /** Pause between batches, to spread index maintenance and replication. */
+    private Duration purgeBatchPause = Duration.ofMillis(200);
+
+    /** The job stops after this long, so it never runs into peak hours. */
+    private Duration purgeMaxRunTime = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public String getPurgeCron() {
+        return purgeCron;
+    }
+
+    public void setPurgeCron(String purgeCron) {
+        this.purgeCron = purgeCron;
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public Duration getPurgeBatchPause() {
+        return purgeBatchPause;
+    }
+
+    public void setPurgeBatchPause(Duration purgeBatchPause) {
+        this.purgeBatchPause = purgeBatchPause;
+    }
+
+    public Duration getPurgeMaxRunTime() {
+        return purgeMaxRunTime;
+    }
+
+    public void setPurgeMaxRunTime(Duration purgeMaxRunTime) {
+        this.purgeMaxRunTime = purgeMaxRunTime;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.unitTest;
+
+import com.mongodb.client.MongoClient;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * When spring.main.lazy-initialization is on (fast-startup profile), keeps
+     * the application's own beans and the Mongo client eager so the first
+     * product request does not pay for their creation. Actuator, metrics
+     * exporters and other infrastructure stay lazy.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter productPathEagerBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                // beanType is null for factory-method beans whose type cannot be resolved yet
+                beanType != null && (beanType.getName().startsWith("com.example.unitTest.")
+                        || MongoClient.class.isAssignableFrom(beanType)
+                        || MongoTemplate.class.isAssignableFrom(beanType));
+    }
+}
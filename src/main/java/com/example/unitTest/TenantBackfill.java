@@ -0,0 +1,54 @@
+package com.example.unitTest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Assigns products and users stored before tenants existed to the default
+ * tenant, once at startup. Queries filter on the tenant id, so such documents
+ * are not visible until this has run; it therefore runs before any other
+ * runner, in particular before {@link CatalogWarmup}, which would otherwise
+ * warm caches and statistics without them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public TenantBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    public void backfill() {
+        try {
+            for (Class<?> type : new Class<?>[]{Product.class, User.class}) {
+                long updated = mongoTemplate.updateMulti(new Query(where("tenantId").exists(false)),
+                        Update.update("tenantId", TenantContext.DEFAULT_TENANT), type).getModifiedCount();
+                if (updated > 0) {
+                    log.info("Assigned {} {} documents to tenant {}", updated, type.getSimpleName(),
+                            TenantContext.DEFAULT_TENANT);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Tenant backfill failed", ex);
+        }
+    }
+}
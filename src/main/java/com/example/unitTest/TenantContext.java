@@ -0,0 +1,50 @@
+package com.example.unitTest;
+
+/**
+ * Tenant (storefront) of the API request handled by the current thread, set
+ * by {@link TenantInterceptor}. Threads without a request, such as startup and
+ * scheduled jobs, act for {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static void set(String tenantId) {
+        TENANT.set(tenantId);
+    }
+
+    public static void clear() {
+        TENANT.remove();
+    }
+
+    /**
+     * Returns the current tenant, {@link #DEFAULT_TENANT} if none is set.
+     */
+    public static String current() {
+        String tenantId = TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    /**
+     * Returns the tenant set on this thread, or {@code null}; for propagation with {@link #restore(String)}.
+     */
+    public static String captured() {
+        return TENANT.get();
+    }
+
+    /**
+     * Restores a tenant captured with {@link #captured()}, e.g. on a worker thread.
+     */
+    public static void restore(String tenantId) {
+        if (tenantId == null) {
+            TENANT.remove();
+        } else {
+            TENANT.set(tenantId);
+        }
+    }
+}
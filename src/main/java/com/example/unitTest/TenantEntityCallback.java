@@ -0,0 +1,22 @@
+package com.example.unitTest;
+
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps new products and users with the current tenant before they are
+ * written, so every save path stores a tenant id without setting it by hand.
+ */
+@Component
+public class TenantEntityCallback implements BeforeConvertCallback<Object> {
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (entity instanceof Product product && product.getTenantId() == null) {
+            product.setTenantId(TenantContext.current());
+        } else if (entity instanceof User user && user.getTenantId() == null) {
+            user.setTenantId(TenantContext.current());
+        }
+        return entity;
+    }
+}
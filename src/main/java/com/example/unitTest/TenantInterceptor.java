@@ -0,0 +1,48 @@
+package com.example.unitTest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant of an API call from the tenant header, makes it the
+ * current {@link TenantContext} and charges the call to the tenant's quota.
+ */
+@Component
+public class TenantInterceptor implements HandlerInterceptor {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final TenantProperties properties;
+    private final TenantQuotas quotas;
+
+    public TenantInterceptor(TenantProperties properties, TenantQuotas quotas) {
+        this.properties = properties;
+        this.quotas = quotas;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(properties.getHeader());
+        String tenantId = header == null || header.isBlank() ? TenantContext.DEFAULT_TENANT : header.trim();
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id.");
+        }
+        if (!properties.getAllowed().isEmpty() && !properties.getAllowed().contains(tenantId)) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+        // Acquire first: a rejected request never reaches afterCompletion to clear the context
+        quotas.acquire(tenantId);
+        TenantContext.set(tenantId);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        TenantContext.clear();
+    }
+}
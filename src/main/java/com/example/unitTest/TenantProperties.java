@@ -0,0 +1,104 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenant resolution and per-tenant request quotas.
+ */
+@ConfigurationProperties(prefix = "app.tenants")
+public class TenantProperties {
+
+    /** Request header carrying the tenant id; requests without it use the default tenant. */
+    private String header = "X-Tenant-Id";
+
+    /** Known tenant ids. Empty accepts any well-formed id. */
+    private List<String> allowed = new ArrayList<>();
+
+    /**
+     * Most tenants with in-memory state (quota buckets, statistics) at once;
+     * the least recently seen are evicted. Bounds memory when any id is accepted.
+     */
+    private int maxTracked = 1000;
+
+    private final Quota quota = new Quota();
+
+    /** Quotas for individual tenants, overriding the default quota. */
+    private Map<String, Quota> quotas = new HashMap<>();
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public List<String> getAllowed() {
+        return allowed;
+    }
+
+    public void setAllowed(List<String> allowed) {
+        this.allowed = allowed;
+    }
+
+    public int getMaxTracked() {
+        return maxTracked;
+    }
+
+    public void setMaxTracked(int maxTracked) {
+        this.maxTracked = maxTracked;
+    }
+
+    public Quota getQuota() {
+        return quota;
+    }
+
+    public Map<String, Quota> getQuotas() {
+        return quotas;
+    }
+
+    public void setQuotas(Map<String, Quota> quotas) {
+        this.quotas = quotas;
+    }
+
+    /**
+     * Token bucket: {@code requestsPerSecond} sustained, bursts up to {@code burst}.
+     */
+    public static class Quota {
+
+        private boolean enabled = true;
+
+        private double requestsPerSecond = 200;
+
+        private int burst = 400;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
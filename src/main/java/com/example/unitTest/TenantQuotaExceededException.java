@@ -0,0 +1,24 @@
+package com.example.unitTest;
+
+/**
+ * Thrown when a tenant has used up its request quota. This is an expected
+ * outcome under load, so no stack trace is captured.
+ */
+public class TenantQuotaExceededException extends RuntimeException {
+
+    private final String tenantId;
+
+    public TenantQuotaExceededException(String tenantId) {
+        super("Request quota exceeded for tenant " + tenantId + ".");
+        this.tenantId = tenantId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-tenant request rate limits: one token bucket per tenant, so a tenant
+ * that floods the API is rejected with 429 while the others keep their share.
+ * Rejections are counted in products.tenant.rejected, tagged by tenant for
+ * tenants that are allow-listed or have their own quota and {@value #OTHER_TENANT}
+ * for the rest, so arbitrary header values cannot grow the tag set. At most
+ * app.tenants.max-tracked buckets are kept; an evicted tenant starts again
+ * with a full bucket.
+ */
+@Component
+public class TenantQuotas {
+
+    static final String OTHER_TENANT = "other";
+
+    private final TenantProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final Map<String, TokenBucket> buckets;
+
+    @Autowired
+    public TenantQuotas(TenantProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    TenantQuotas(TenantProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+        int maxTracked = properties.getMaxTracked();
+        this.buckets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTracked;
+            }
+        });
+    }
+
+    /**
+     * Takes one request from the tenant's quota.
+     *
+     * @throws TenantQuotaExceededException if the tenant has no requests left.
+     */
+    public void acquire(String tenantId) {
+        TenantProperties.Quota quota = properties.getQuotas().getOrDefault(tenantId, properties.getQuota());
+        if (!quota.isEnabled()) {
+            return;
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(tenantId, id -> new TokenBucket(quota, nanoTime.getAsLong()));
+        if (!bucket.tryAcquire(nanoTime.getAsLong())) {
+            Counter.builder("products.tenant.rejected")
+                    .description("Requests rejected because the tenant exceeded its quota")
+                    .tag("tenant", tagValue(tenantId))
+                    .register(meterRegistry)
+                    .increment();
+            throw new TenantQuotaExceededException(tenantId);
+        }
+    }
+
+    private String tagValue(String tenantId) {
+        boolean known = properties.getAllowed().contains(tenantId) || properties.getQuotas().containsKey(tenantId)
+                || TenantContext.DEFAULT_TENANT.equals(tenantId);
+        return known ? tenantId : OTHER_TENANT;
+    }
+
+    private static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(TenantProperties.Quota quota, long nowNanos) {
+            this.tokensPerNano = quota.getRequestsPerSecond() / 1e9;
+            this.capacity = Math.max(1, quota.getBurst());
+            this.tokens = capacity;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        synchronized boolean tryAcquire(long nowNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = nowNanos;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
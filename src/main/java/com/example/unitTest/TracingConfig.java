@@ -0,0 +1,50 @@
+package com.example.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+/**
+ * Tracing for the request hot path. HTTP server spans come from Spring MVC,
+ * controller and service spans from {@code @Observed}; this adds spans for
+ * Mongo commands and JSON serialization. Sampling and export are configured
+ * with management.tracing.* and management.otlp.tracing.* properties.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Creates a span per Mongo command, parented to the observation of the calling thread.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    /**
+     * Replaces Spring Boot's default JSON converter with one that observes serialization.
+     */
+    @Bean
+    public ObservedJacksonHttpMessageConverter observedJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ObservationRegistry observationRegistry) {
+        return new ObservedJacksonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+
+    /**
+     * Writes finished spans to the log, for local debugging without a collector.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.log-spans", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
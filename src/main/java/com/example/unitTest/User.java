@@ -7,6 +7,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public class User {
    @Id
     private String id;
+    // Owning tenant; set from TenantContext on the first save
+    private String tenantId;
     private String firstName;
     private String lastName;
     private String email;
@@ -23,6 +25,14 @@ public class User {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getFirstName() {
         return firstName;
     }
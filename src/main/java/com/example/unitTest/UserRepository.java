@@ -2,5 +2,11 @@ package com.example.unitTest;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface UserRepository extends MongoRepository<User, String> {
+import java.util.Optional;
+
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
+
+    // Served by UserRepositoryImpl; redeclared to resolve the clash with CrudRepository.findById
+    @Override
+    Optional<User> findById(String id);
 }
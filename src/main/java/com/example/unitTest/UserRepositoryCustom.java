@@ -0,0 +1,11 @@
+package com.example.unitTest;
+
+import java.util.Optional;
+
+/**
+ * User lookups implemented with MongoTemplate so they run with a time limit,
+ * scoped to the current {@link TenantContext} tenant.
+ */
+public interface UserRepositoryCustom {
+    Optional<User> findById(String id);
+}
@@ -0,0 +1,27 @@
+package com.example.unitTest;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryDeadlines queryDeadlines;
+
+    public UserRepositoryImpl(MongoTemplate mongoTemplate, QueryDeadlines queryDeadlines) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryDeadlines = queryDeadlines;
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        Query query = queryDeadlines.apply("findUserById", new Query(where("id").is(id)
+                .and("tenantId").is(TenantContext.current())));
+        return queryDeadlines.execute("findUserById",
+                () -> Optional.ofNullable(mongoTemplate.findOne(query, User.class)));
+    }
+}
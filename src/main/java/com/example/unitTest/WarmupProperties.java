@@ -0,0 +1,102 @@
+package com.example.unitTest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog warm-up before the instance reports ready: representative product
+ * queries are replayed a few times to load the Mongo working set, fill the
+ * product cache and let the JIT compile the request path.
+ */
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /** Tenants whose catalogs are warmed. */
+    private List<String> tenants = new ArrayList<>(List.of(TenantContext.DEFAULT_TENANT));
+
+    /** Colors to query. Empty uses the {@code topColors} most common colors of each tenant. */
+    private List<String> colors = new ArrayList<>();
+
+    private int topColors = 5;
+
+    /** Price ranges to query, as "min-max". */
+    private List<String> priceRanges = new ArrayList<>(List.of("0-50", "50-200", "200-1000"));
+
+    /** Product names to query. Empty uses names found by the color queries. */
+    private List<String> names = new ArrayList<>();
+
+    /** Times the whole set of queries is replayed; later passes mostly warm the JIT. */
+    private int passes = 5;
+
+    /** Warm-up stops after this long, so a slow database cannot hold back readiness for long. */
+    private Duration maxDuration = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(List<String> tenants) {
+        this.tenants = tenants;
+    }
+
+    public List<String> getColors() {
+        return colors;
+    }
+
+    public void setColors(List<String> colors) {
+        this.colors = colors;
+    }
+
+    public int getTopColors() {
+        return topColors;
+    }
+
+    public void setTopColors(int topColors) {
+        this.topColors = topColors;
+    }
+
+    public List<String> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(List<String> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public void setNames(List<String> names) {
+        this.names = names;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public void setPasses(int passes) {
+        this.passes = passes;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+}
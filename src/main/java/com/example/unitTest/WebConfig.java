@@ -0,0 +1,31 @@
+package com.example.unitTest;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+    private final TenantInterceptor tenantInterceptor;
+    private final InFlightRequests inFlightRequests;
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    public WebConfig(RequestDeadlineInterceptor requestDeadlineInterceptor, TenantInterceptor tenantInterceptor,
+                     InFlightRequests inFlightRequests, BulkheadInterceptor bulkheadInterceptor) {
+        this.requestDeadlineInterceptor = requestDeadlineInterceptor;
+        this.tenantInterceptor = tenantInterceptor;
+        this.inFlightRequests = inFlightRequests;
+        this.bulkheadInterceptor = bulkheadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(inFlightRequests).addPathPatterns("/api/products/**");
+        registry.addInterceptor(tenantInterceptor).addPathPatterns("/api/**");
+        // The deadline starts before the bulkhead, so time spent queued for a slot counts against it
+        registry.addInterceptor(requestDeadlineInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.unitTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Low-stock sink that POSTs each event as JSON to
+ * app.products.low-stock.webhook.url. Requests are sent asynchronously and
+ * failures are logged, not retried.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.low-stock.sink", havingValue = "webhook")
+public class WebhookLowStockSink implements LowStockSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookLowStockSink.class);
+
+    private final LowStockProperties.Webhook properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public WebhookLowStockSink(LowStockProperties properties, ObjectMapper objectMapper) {
+        if (properties.getWebhook().getUrl() == null) {
+            throw new IllegalStateException("app.products.low-stock.webhook.url is required for the webhook sink.");
+        }
+        this.properties = properties.getWebhook();
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(this.properties.getTimeout())
+                .build();
+    }
+
+    @Override
+    public void publish(LowStockEvent event) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize low-stock event for product {}", event.productId(), ex);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(properties.getUrl())
+                .timeout(properties.getTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        log.warn("Low-stock webhook failed for product {}: {}", event.productId(), ex.toString());
+                    } else if (response.statusCode() >= 300) {
+                        log.warn("Low-stock webhook returned {} for product {}", response.statusCode(),
+                                event.productId());
+                    }
+                });
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Bulkheads bulkheads;
+
+    @BeforeEach
+    public void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setGroups(Map.of(
+                Bulkhead.SCAN, new BulkheadProperties.Group(1, 0, Duration.ZERO),
+                Bulkhead.LOOKUP, new BulkheadProperties.Group(1, 1, Duration.ofSeconds(5))));
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheads = new Bulkheads(properties, meterRegistry);
+    }
+
+    /**
+     * Test acquire to ensure a full group rejects at once while other groups still get slots.
+     */
+    @Test
+    public void testAcquire_FullGroupRejectsWithoutAffectingOthers() {
+        // Arrange
+        bulkheads.acquire(Bulkhead.SCAN);
+
+        // Act
+        BulkheadFullException exception = assertThrows(BulkheadFullException.class,
+                () -> bulkheads.acquire(Bulkhead.SCAN));
+        bulkheads.acquire(Bulkhead.LOOKUP);
+        bulkheads.release(Bulkhead.SCAN);
+        bulkheads.acquire(Bulkhead.SCAN);
+
+        // Assert
+        assertEquals(Bulkhead.SCAN, exception.getGroup());
+        assertEquals(1.0, meterRegistry.get("products.bulkhead.rejected").tag("group", "scan").counter().count());
+        assertEquals(1.0, meterRegistry.get("products.bulkhead.active").tag("group", "lookup").gauge().value());
+    }
+
+    /**
+     * Test acquire to ensure a queued request gets the slot when it is released, and the queue limit is enforced.
+     */
+    @Test
+    public void testAcquire_QueuedRequestGetsReleasedSlot() throws InterruptedException {
+        // Arrange
+        bulkheads.acquire(Bulkhead.LOOKUP);
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            bulkheads.acquire(Bulkhead.LOOKUP);
+            acquired.countDown();
+        });
+        waiter.start();
+        while (meterRegistry.get("products.bulkhead.queued").tag("group", "lookup").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        // Act: the queue holds one request, a second one is rejected
+        assertThrows(BulkheadFullException.class, () -> bulkheads.acquire(Bulkhead.LOOKUP));
+        bulkheads.release(Bulkhead.LOOKUP);
+
+        // Assert
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiter.join();
+        assertEquals(0.0, meterRegistry.get("products.bulkhead.queued").tag("group", "lookup").gauge().value());
+    }
+
+    /**
+     * Test acquire to ensure a queued request gives up when its request deadline runs out, before max-wait.
+     */
+    @Test
+    public void testAcquire_WaitBoundedByRequestDeadline() {
+        // Arrange: lookup waits up to 5 seconds, the request has 50 ms left
+        bulkheads.acquire(Bulkhead.LOOKUP);
+        RequestDeadline.start(Duration.ofMillis(50));
+
+        // Act
+        long start = System.nanoTime();
+        try {
+            assertThrows(BulkheadFullException.class, () -> bulkheads.acquire(Bulkhead.LOOKUP));
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        // Assert
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CatalogWarmupTest {
+
+    private ProductService productService;
+    private SimpleMeterRegistry meterRegistry;
+    private WarmupProperties properties;
+    private CatalogWarmup warmup;
+
+    @BeforeEach
+    public void setUp() {
+        productService = mock(ProductService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WarmupProperties();
+        properties.setTopColors(2);
+        properties.setPriceRanges(List.of("0-50"));
+        properties.setPasses(3);
+        warmup = new CatalogWarmup(properties, productService, new ObjectMapper(), meterRegistry);
+        when(productService.getProductStats()).thenReturn(new ProductStats(6,
+                Map.of("Red", 3L, "Blue", 2L, "Green", 1L), 2, Instant.now()));
+    }
+
+    /**
+     * Test warmUp to ensure the most common colors, price ranges and found names and ids are replayed every
+     * pass, with limited queries only.
+     */
+    @Test
+    public void testWarmUp_ReplaysQueriesAndRecordsMetrics() {
+        // Arrange
+        when(productService.getProductsByColor(anyString(), any(ProductListOptions.class)))
+                .thenReturn(List.of(product("1", "Chair")));
+
+        // Act
+        warmup.warmUp();
+
+        // Assert: two sorted queries per color and pass, every list query limited
+        verify(productService, times(6)).getProductsByColor(eq("Red"), argThat(options -> options.limit().max() == 20));
+        verify(productService, times(6)).getProductsByColor(eq("Blue"), any(ProductListOptions.class));
+        verify(productService, never()).getProductsByColor(eq("Green"), any(ProductListOptions.class));
+        verify(productService, times(3)).getProductsByPriceRange(eq(0.0), eq(50.0),
+                argThat(options -> options.limit().max() == 20));
+        verify(productService, times(3)).getProductsByName(eq("Chair"), argThat(options -> options.limit().max() == 20));
+        verify(productService, times(3)).getProductsByIds(List.of("1"));
+        verify(productService, never()).getProductsByColor(anyString());
+        verify(productService, never()).getProductsByPriceRange(anyDouble(), anyDouble());
+        verify(productService, never()).getProductsByName(anyString());
+        assertEquals(1, meterRegistry.get("products.warmup.duration").tag("outcome", "completed").timer().count());
+        assertEquals(1, meterRegistry.get("products.warmup.pass").tag("pass", "last").timer().count());
+    }
+
+    /**
+     * Test warmUp to ensure a failing query stops the warm-up without failing startup.
+     */
+    @Test
+    public void testWarmUp_StopsAtFirstFailure() {
+        // Arrange
+        when(productService.getProductsByColor(anyString(), any(ProductListOptions.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo unreachable"));
+
+        // Act
+        warmup.warmUp();
+
+        // Assert
+        verify(productService, times(1)).getProductsByColor(anyString(), any(ProductListOptions.class));
+        verify(productService, never()).getProductsByPriceRange(anyDouble(), anyDouble(), any(ProductListOptions.class));
+        assertEquals(1, meterRegistry.get("products.warmup.failures").counter().count());
+        assertEquals(1, meterRegistry.get("products.warmup.duration").tag("outcome", "failed").timer().count());
+    }
+
+    /**
+     * Test warmUp to ensure no query is started once app.warmup.max-duration has passed.
+     */
+    @Test
+    public void testWarmUp_StopsAtMaxDuration() {
+        // Arrange: the first query uses up the whole budget
+        properties.setMaxDuration(Duration.ofMillis(50));
+        when(productService.getProductsByColor(anyString(), any(ProductListOptions.class))).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of(product("1", "Chair"));
+        });
+
+        // Act
+        warmup.warmUp();
+
+        // Assert: the color's two sorted queries ran, nothing after the deadline
+        verify(productService, times(2)).getProductsByColor(anyString(), any(ProductListOptions.class));
+        verify(productService, never()).getProductsByPriceRange(anyDouble(), anyDouble(), any(ProductListOptions.class));
+        verify(productService, never()).getProductsByIds(anyList());
+        assertEquals(1, meterRegistry.get("products.warmup.duration").tag("outcome", "timed_out").timer().count());
+    }
+
+    /**
+     * Test warmUp to ensure configured colors skip the statistics, whose seed aggregates the whole catalog.
+     */
+    @Test
+    public void testWarmUp_ConfiguredColorsSkipStats() {
+        // Arrange
+        properties.setColors(List.of("Black"));
+
+        // Act
+        warmup.warmUp();
+
+        // Assert
+        verify(productService, never()).getProductStats();
+        verify(productService, times(6)).getProductsByColor(eq("Black"), any(ProductListOptions.class));
+    }
+
+    private static Product product(String id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setColor("Red");
+        return product;
+    }
+}
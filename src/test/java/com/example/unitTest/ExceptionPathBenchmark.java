@@ -0,0 +1,86 @@
+package com.example.unitTest;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of the "no result" and "invalid input" paths before and
+ * after stackless exceptions. The recursion depth stands in for the servlet,
+ * Spring MVC and service frames that sit on the stack of a real request.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ExceptionPathBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionPathBenchmark {
+
+    @Param({"20", "80"})
+    public int stackDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public ResponseEntity<String> notFoundWithStackTrace() {
+        try {
+            return descend(stackDepth, () -> {
+                throw new NoSuchElementException("No products found with color: Red");
+            });
+        } catch (NoSuchElementException ex) {
+            // Previous behaviour: plain NoSuchElementException with a String body
+            return ResponseEntity.status(404).body(ex.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> notFoundStackless() {
+        try {
+            return descend(stackDepth, () -> {
+                throw new ProductNotFoundException("No products found with color: Red");
+            });
+        } catch (ProductNotFoundException ex) {
+            return handler.handleProductNotFound(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<String> invalidWithStackTrace() {
+        try {
+            return descend(stackDepth, () -> {
+                throw new IllegalArgumentException("Product price cannot be negative.");
+            });
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(400).body(ex.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> invalidStackless() {
+        try {
+            return descend(stackDepth, () -> {
+                throw new InvalidProductException(ErrorCode.PRODUCT_PRICE_NEGATIVE, "Product price cannot be negative.");
+            });
+        } catch (InvalidProductException ex) {
+            return handler.handleInvalidProduct(ex);
+        }
+    }
+
+    private static <T> T descend(int depth, Thrower thrower) {
+        if (depth == 0) {
+            thrower.run();
+            return null;
+        }
+        return descend(depth - 1, thrower);
+    }
+
+    @FunctionalInterface
+    private interface Thrower {
+        void run();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.unitTest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    /**
+     * Test estimate to ensure a large cardinality is estimated within a few standard errors.
+     */
+    @Test
+    public void testEstimate_LargeCardinality() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            sketch.add("Product-" + i);
+        }
+
+        // Assert: standard error at precision 14 is about 0.8%
+        assertEquals(200_000, sketch.estimate(), 200_000 * 0.03);
+    }
+
+    /**
+     * Test estimate to ensure repeated values are counted once and small cardinalities are close to exact.
+     */
+    @Test
+    public void testEstimate_Duplicates() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Act
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                sketch.add("Product-" + i);
+            }
+        }
+        sketch.add(null);
+
+        // Assert
+        assertEquals(100, sketch.estimate(), 2);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LowStockMonitorTest {
+
+    private final List<LowStockEvent> published = new ArrayList<>();
+    private LowStockMonitor monitor;
+
+    @BeforeEach
+    public void setUp() {
+        LowStockProperties properties = new LowStockProperties();
+        properties.setDefaultThreshold(10);
+        monitor = new LowStockMonitor(properties, published::add, new SimpleMeterRegistry());
+    }
+
+    /**
+     * An update that drops the stock below the default threshold emits one event.
+     */
+    @Test
+    public void testUpdateCrossingThreshold_EmitsEvent() {
+        // Act
+        monitor.onProductChanged(new ProductChangedEvent(product(12, null), product(9, null)));
+
+        // Assert
+        assertEquals(1, published.size());
+        assertEquals("1", published.get(0).productId());
+        assertEquals(9, published.get(0).stockQuantity());
+        assertEquals(10, published.get(0).threshold());
+    }
+
+    /**
+     * Alerts are edge-triggered: staying low emits nothing, restocking and dropping again emits a new event.
+     */
+    @Test
+    public void testStayingLow_EmitsOnce() {
+        // Act
+        monitor.onProductChanged(new ProductChangedEvent(product(12, null), product(9, null)));
+        monitor.onProductChanged(new ProductChangedEvent(product(9, null), product(5, null)));
+        monitor.onProductChanged(new ProductChangedEvent(product(5, null), product(50, null)));
+        monitor.onProductChanged(new ProductChangedEvent(product(50, null), product(2, null)));
+        monitor.onProductChanged(new ProductChangedEvent(product(2, null), null));
+
+        // Assert
+        assertEquals(List.of(9, 2), published.stream().map(LowStockEvent::stockQuantity).toList());
+    }
+
+    /**
+     * A product's own threshold overrides the default, also for newly created products.
+     */
+    @Test
+    public void testPerProductThreshold() {
+        // Act: 30 is low for a threshold of 50, 5 is not low for a threshold of 0
+        monitor.onProductChanged(new ProductChangedEvent(null, product(30, 50)));
+        monitor.onProductChanged(new ProductChangedEvent(null, product(5, 0)));
+
+        // Assert
+        assertEquals(1, published.size());
+        assertEquals(50, published.get(0).threshold());
+    }
+
+    private static Product product(int stockQuantity, Integer lowStockThreshold) {
+        Product product = new Product();
+        product.setId("1");
+        product.setName("Product A");
+        product.setStockQuantity(stockQuantity);
+        product.setLowStockThreshold(lowStockThreshold);
+        return product;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.unitTest;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MongoLatencyHealthIndicatorTest {
+
+    private MongoTemplate mongoTemplate;
+    private ReadinessProperties properties;
+    private MongoLatencyHealthIndicator indicator;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        properties = new ReadinessProperties();
+        indicator = new MongoLatencyHealthIndicator(mongoTemplate, properties);
+    }
+
+    /**
+     * Test health to ensure a fast ping is UP and a ping slower than the limit is OUT_OF_SERVICE.
+     */
+    @Test
+    public void testHealth_LatencyAgainstLimit() {
+        // Arrange
+        when(mongoTemplate.executeCommand(any(Document.class))).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return new Document("ok", 1);
+        });
+
+        // Act
+        Health fast = indicator.health();
+        properties.setMaxMongoLatency(Duration.ofMillis(5));
+        Health slow = indicator.health();
+
+        // Assert
+        assertEquals(Status.UP, fast.getStatus());
+        assertEquals(Status.OUT_OF_SERVICE, slow.getStatus());
+        assertTrue((Long) slow.getDetails().get("latencyMs") >= 20);
+    }
+
+    /**
+     * Test health to ensure a ping that hangs, e.g. waiting for a pooled connection, reports DOWN after the timeout.
+     */
+    @Test
+    public void testHealth_PingTimesOut() {
+        // Arrange
+        properties.setMongoPingTimeout(Duration.ofMillis(50));
+        when(mongoTemplate.executeCommand(any(Document.class))).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return new Document("ok", 1);
+        });
+
+        // Act
+        long start = System.nanoTime();
+        Health health = indicator.health();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("No ping response within 50 ms", health.getDetails().get("error"));
+        assertTrue(elapsedMillis < 1_000);
+    }
+
+    /**
+     * Test health to ensure a failing ping reports DOWN.
+     */
+    @Test
+    public void testHealth_PingFails() {
+        // Arrange
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo unreachable"));
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+}
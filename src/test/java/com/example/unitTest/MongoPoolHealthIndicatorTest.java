@@ -0,0 +1,44 @@
+package com.example.unitTest;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MongoPoolHealthIndicatorTest {
+
+    /**
+     * Test health to ensure the pool is OUT_OF_SERVICE while the wait queue exceeds its limit, and UP once it drains.
+     */
+    @Test
+    public void testHealth_FollowsWaitQueue() {
+        // Arrange
+        MongoPoolMetricsListener listener = new MongoPoolMetricsListener(new SimpleMeterRegistry());
+        ReadinessProperties properties = new ReadinessProperties();
+        properties.setMaxPoolWaitQueue(2);
+        MongoPoolHealthIndicator indicator = new MongoPoolHealthIndicator(listener, properties);
+        ConnectionCheckOutFailedEvent failed = mock(ConnectionCheckOutFailedEvent.class);
+        when(failed.getReason()).thenReturn(ConnectionCheckOutFailedEvent.Reason.TIMEOUT);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            listener.connectionCheckOutStarted(mock(ConnectionCheckOutStartedEvent.class));
+        }
+        Health saturated = indicator.health();
+        listener.connectionCheckedOut(mock(ConnectionCheckedOutEvent.class));
+        listener.connectionCheckOutFailed(failed);
+        Health recovered = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, saturated.getStatus());
+        assertEquals(3, saturated.getDetails().get("waitQueueSize"));
+        assertEquals(Status.UP, recovered.getStatus());
+        assertEquals(1, listener.getWaitQueueSize());
+    }
+}
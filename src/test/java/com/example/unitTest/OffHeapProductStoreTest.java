@@ -0,0 +1,88 @@
+package com.example.unitTest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapProductStoreTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long LATER = NOW + 60_000L;
+
+    /**
+     * A stored product decodes to the same field values, including null fields.
+     */
+    @Test
+    public void testPutAndGet_RoundTrip() {
+        // Arrange
+        OffHeapProductStore store = new OffHeapProductStore(64 * 1024);
+        Product product = product("1", "Röd stol");
+        product.setDescription(null);
+        product.setTenantId("shop-a");
+
+        // Act
+        store.put(product, LATER);
+        Product result = store.get("1", NOW).product();
+
+        // Assert
+        assertEquals("1", result.getId());
+        assertEquals("Röd stol", result.getName());
+        assertNull(result.getDescription());
+        assertEquals("Red", result.getColor());
+        assertEquals(10.99, result.getPrice());
+        assertEquals(100, result.getStockQuantity());
+        assertEquals("shop-a", result.getTenantId());
+    }
+
+    /**
+     * When the buffer is full the oldest entries are evicted first, and replacing an entry returns the new version.
+     */
+    @Test
+    public void testPut_EvictsOldestWhenFull() {
+        // Arrange: room for a few dozen records only
+        OffHeapProductStore store = new OffHeapProductStore(4 * 1024);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            store.put(product(String.valueOf(i), "Product " + i), LATER);
+        }
+        store.put(product("499", "Updated"), LATER);
+
+        // Assert
+        assertNull(store.get("0", NOW));
+        assertEquals("Product 498", store.get("498", NOW).product().getName());
+        assertEquals("Updated", store.get("499", NOW).product().getName());
+        assertTrue(store.usedBytes() <= store.capacity());
+        assertTrue(store.size() < 500);
+    }
+
+    /**
+     * Expired and removed entries are not returned.
+     */
+    @Test
+    public void testGet_ExpiredOrRemoved() {
+        // Arrange
+        OffHeapProductStore store = new OffHeapProductStore(64 * 1024);
+        store.put(product("1", "Product A"), NOW - 1);
+        store.put(product("2", "Product B"), LATER);
+
+        // Act
+        store.remove("2");
+
+        // Assert
+        assertNull(store.get("1", NOW));
+        assertNull(store.get("2", NOW));
+        assertEquals(0, store.size());
+    }
+
+    private static Product product(String id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription("Description " + id);
+        product.setColor("Red");
+        product.setPrice(10.99);
+        product.setStockQuantity(100);
+        return product;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:01:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private OutboxPublisher publisher;
+    private OutboxProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        publisher = mock(OutboxPublisher.class);
+        properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerPoll(2);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(mongoTemplate, publisher, properties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        // The lease upsert echoes back whichever holder the relay wrote, i.e. this instance holds it
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(OutboxRelay.LEASE_COLLECTION)))
+                .thenAnswer(invocation -> new Document("holder",
+                        invocation.getArgument(1, Update.class).getUpdateObject().get("$set", Document.class)
+                                .getString("holder")));
+    }
+
+    /**
+     * Full batches are published and deleted until max-batches-per-poll is reached.
+     */
+    @Test
+    public void testRelay_PublishesBoundedBatches() {
+        // Arrange: more pending records than one poll may publish
+        when(mongoTemplate.find(any(Query.class), eq(OutboxRecord.class)))
+                .thenReturn(records(0, 2))
+                .thenReturn(records(2, 2))
+                .thenReturn(records(4, 2));
+
+        // Act
+        int published = relay.relay();
+
+        // Assert: two batches of two, the oldest record was 60 seconds old
+        assertEquals(4, published);
+        verify(publisher, times(2)).publish(any());
+        verify(mongoTemplate, times(2)).remove(any(Query.class), eq(OutboxRecord.class));
+        assertEquals(4, meterRegistry.get("products.outbox.published").counter().count());
+        assertEquals(60, meterRegistry.get("products.outbox.lag").gauge().value());
+    }
+
+    /**
+     * A failed publish keeps the batch for the next poll and stops the current one.
+     */
+    @Test
+    public void testRelay_FailureKeepsBatch() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(OutboxRecord.class))).thenReturn(records(0, 2));
+        doThrow(new IllegalStateException("broker down")).when(publisher).publish(any());
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(0, published);
+        verify(publisher, times(1)).publish(any());
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(OutboxRecord.class));
+        assertEquals(1, meterRegistry.get("products.outbox.publish.failures").counter().count());
+    }
+
+    /**
+     * While another instance holds a live lease the relay reads and publishes nothing.
+     */
+    @Test
+    public void testRelay_LeaseHeldElsewhere() {
+        // Arrange: the upsert collides with the other instance's lease document
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), anyString())).thenThrow(new DuplicateKeyException("lease held"));
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(0, published);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(OutboxRecord.class));
+        verifyNoInteractions(publisher);
+    }
+
+    private static List<OutboxRecord> records(int from, int count) {
+        List<OutboxRecord> records = new ArrayList<>();
+        IntStream.range(from, from + count).forEach(i -> {
+            Product product = new Product();
+            product.setId(String.valueOf(i));
+            OutboxRecord record = new OutboxRecord(OutboxRecord.Type.CREATED, product.getId(), product,
+                    NOW.minusSeconds(60 - i));
+            record.setId("r" + i);
+            records.add(record);
+        });
+        return records;
+    }
+}
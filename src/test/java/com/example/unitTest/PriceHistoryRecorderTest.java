@@ -0,0 +1,83 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PriceHistoryRecorderTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private PriceHistoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PriceHistoryRecorder recorder;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        properties = new PriceHistoryProperties();
+        properties.setBufferCapacity(2);
+        properties.setBatchSize(10);
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new PriceHistoryRecorder(mongoTemplate, properties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    /**
+     * Created products and price changes are recorded; updates that keep the price and deletes are not.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnlyPriceChangesAreRecorded() {
+        // Act
+        recorder.onProductChanged(new ProductChangedEvent(null, product(10.0)));
+        recorder.onProductChanged(new ProductChangedEvent(product(10.0), product(10.0)));
+        recorder.onProductChanged(new ProductChangedEvent(product(10.0), product(12.5)));
+        recorder.onProductChanged(new ProductChangedEvent(product(12.5), null));
+        int written = recorder.flush();
+
+        // Assert: one batch with both points
+        assertEquals(2, written);
+        ArgumentCaptor<Collection<PricePoint>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate, times(1)).insert(batch.capture(), eq(PricePoint.class));
+        assertEquals(List.of(10.0, 12.5), batch.getValue().stream().map(PricePoint::getPrice).toList());
+        assertEquals(NOW, batch.getValue().iterator().next().getTimestamp());
+    }
+
+    /**
+     * A full buffer drops new points instead of blocking the writer, and counts them.
+     */
+    @Test
+    public void testFullBuffer_DropsPoints() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            recorder.onProductChanged(new ProductChangedEvent(null, product(i)));
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.get("products.pricehistory.dropped").counter().count());
+        assertEquals(2, recorder.flush());
+        verify(mongoTemplate, times(1)).insert(anyCollection(), any(Class.class));
+    }
+
+    private static Product product(double price) {
+        Product product = new Product();
+        product.setId("1");
+        product.setPrice(price);
+        return product;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.unitTest;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PriceHistoryServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PriceHistoryService service = new PriceHistoryService(mongoTemplate);
+
+    /**
+     * Downsampled history maps each aggregated bucket to a PriceBucket.
+     */
+    @Test
+    public void testGetDownsampledHistory() {
+        // Arrange
+        Instant hour = Instant.parse("2024-01-01T10:00:00Z");
+        Document bucket = new Document("_id", Date.from(hour))
+                .append("min", 9.5).append("max", 12.0).append("avg", 10.5).append("count", 3);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(PricePoint.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(bucket), new Document()));
+
+        // Act
+        List<PriceBucket> history = service.getDownsampledHistory("1", hour.minusSeconds(3600), hour.plusSeconds(7200),
+                PriceHistoryService.Interval.HOUR);
+
+        // Assert
+        assertEquals(List.of(new PriceBucket(hour, 9.5, 12.0, 10.5, 3)), history);
+    }
+
+    /**
+     * Unknown intervals and empty ranges are rejected before querying.
+     */
+    @Test
+    public void testInvalidArguments() {
+        Instant now = Instant.now();
+
+        assertThrows(IllegalArgumentException.class, () -> PriceHistoryService.Interval.parse("week"));
+        assertEquals(PriceHistoryService.Interval.RAW, PriceHistoryService.Interval.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> service.getRawHistory("1", now, now));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getDownsampledHistory("1", null, null, PriceHistoryService.Interval.RAW));
+        verifyNoInteractions(mongoTemplate);
+    }
+}
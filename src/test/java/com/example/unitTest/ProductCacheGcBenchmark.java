@@ -0,0 +1,205 @@
+package com.example.unitTest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares GC pauses of a pure on-heap product cache (ConcurrentHashMap of
+ * Product) with {@link ProductCache} (small on-heap hot tier, catalog
+ * off-heap) under the same lookup/update workload. Each mode runs in its own
+ * JVM with the same heap so the results are independent.
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath com.example.unitTest.ProductCacheGcBenchmark --entries 3000000 --seconds 60 --heap 4g --offheap 2g"
+ * </pre>
+ * Reports GC count, total and maximum pause, p99 pause and throughput per mode.
+ */
+public class ProductCacheGcBenchmark {
+
+    private static final String RESULT = "RESULT ";
+
+    public static void main(String[] args) throws Exception {
+        String mode = null;
+        int entries = 1_000_000;
+        int seconds = 30;
+        int threads = 8;
+        String heap = "2g";
+        String offHeapSize = "1g";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--mode" -> mode = args[++i];
+                case "--entries" -> entries = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--heap" -> heap = args[++i];
+                case "--offheap" -> offHeapSize = args[++i];
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (mode != null) {
+            run(mode, entries, seconds, threads, offHeapSize);
+            return;
+        }
+        System.out.printf("%-8s %10s %8s %12s %10s %10s %12s%n",
+                "mode", "heapMB", "gcCount", "gcTotalMs", "maxPause", "p99Pause", "ops/s");
+        for (String each : List.of("onheap", "offheap")) {
+            System.out.println(fork(each, entries, seconds, threads, heap, offHeapSize));
+        }
+    }
+
+    /**
+     * Runs one mode in a child JVM and returns its result line.
+     */
+    private static String fork(String mode, int entries, int seconds, int threads, String heap, String offHeapSize)
+            throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xms" + heap, "-Xmx" + heap, "-XX:+UseG1GC",
+                "-XX:MaxDirectMemorySize=" + offHeapSize, "-cp", System.getProperty("java.class.path"),
+                ProductCacheGcBenchmark.class.getName(), "--mode", mode, "--entries", String.valueOf(entries),
+                "--seconds", String.valueOf(seconds), "--threads", String.valueOf(threads), "--offheap", offHeapSize)
+                .redirectErrorStream(true)
+                .start();
+        String result = mode + " failed";
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(RESULT)) {
+                    result = line.substring(RESULT.length());
+                } else {
+                    System.err.println("[" + mode + "] " + line);
+                }
+            }
+        }
+        process.waitFor();
+        return result;
+    }
+
+    private static void run(String mode, int entries, int seconds, int threads, String offHeapSize)
+            throws InterruptedException {
+        Cache cache = "onheap".equals(mode) ? onHeapCache() : productCache(offHeapSize);
+        for (int i = 0; i < entries; i++) {
+            cache.put(product(i));
+        }
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+
+        List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // Concurrent cycles do not stop the application
+                if (!info.getGcName().contains("Concurrent")) {
+                    pauses.add(info.getGcInfo().getDuration());
+                }
+            }, null, null);
+        }
+
+        // 90% lookups of random ids, 10% updates that replace an entry
+        LongAdder operations = new LongAdder();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    int id = random.nextInt(entries);
+                    if (random.nextInt(10) == 0) {
+                        cache.put(product(id));
+                    } else {
+                        cache.get(String.valueOf(id));
+                    }
+                    operations.increment();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        List<Long> sorted;
+        synchronized (pauses) {
+            sorted = new ArrayList<>(pauses);
+        }
+        Collections.sort(sorted);
+        long total = sorted.stream().mapToLong(Long::longValue).sum();
+        long max = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1);
+        long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * 0.99) - 1));
+        System.out.printf(RESULT + "%-8s %10d %8d %12d %10d %10d %12d%n", mode, heapUsedMb, sorted.size(), total,
+                max, p99, operations.sum() / seconds);
+    }
+
+    private static Cache onHeapCache() {
+        Map<String, Product> map = new ConcurrentHashMap<>();
+        return new Cache() {
+            @Override
+            public Product get(String id) {
+                return map.get(id);
+            }
+
+            @Override
+            public void put(Product product) {
+                map.put(product.getId(), product);
+            }
+        };
+    }
+
+    private static Cache productCache(String offHeapSize) {
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.setEnabled(true);
+        properties.setTtl(Duration.ofHours(1));
+        properties.getOffHeap().setSize(DataSize.parse(offHeapSize.toUpperCase() + "B"));
+        ProductCache productCache = new ProductCache(properties);
+        return new Cache() {
+            @Override
+            public Product get(String id) {
+                return productCache.get(id);
+            }
+
+            @Override
+            public void put(Product product) {
+                productCache.put(product);
+            }
+        };
+    }
+
+    private static Product product(int i) {
+        Product product = new Product();
+        product.setId(String.valueOf(i));
+        product.setTenantId(TenantContext.DEFAULT_TENANT);
+        product.setName("Product " + i);
+        product.setDescription("Benchmark product number " + i + " with a typical description length");
+        product.setColor(i % 2 == 0 ? "Red" : "Blue");
+        product.setPrice(10 + i % 1000);
+        product.setStockQuantity(i % 500);
+        return product;
+    }
+
+    private interface Cache {
+        Product get(String id);
+
+        void put(Product product);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.unitTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductCacheTest {
+
+    @AfterEach
+    public void clearTenant() {
+        TenantContext.clear();
+    }
+
+    /**
+     * Test get to ensure a cached product is only returned to the tenant that owns it.
+     */
+    @Test
+    public void testGet_OnlyForOwningTenant() {
+        // Arrange
+        ProductCache cache = cache();
+        Product product = new Product();
+        product.setId("1");
+        product.setTenantId("shop-a");
+        cache.put(product);
+
+        // Act
+        TenantContext.set("shop-b");
+        Product otherTenant = cache.get("1");
+        TenantContext.set("shop-a");
+        Product owner = cache.get("1");
+
+        // Assert
+        assertNull(otherTenant);
+        assertSame(product, owner);
+    }
+
+    /**
+     * Test isMissing to ensure an id unknown to one tenant is not reported missing for another.
+     */
+    @Test
+    public void testIsMissing_PerTenant() {
+        // Arrange
+        ProductCache cache = cache();
+        TenantContext.set("shop-b");
+        cache.putMissing("1");
+
+        // Act
+        boolean missingForB = cache.isMissing("1");
+        TenantContext.set("shop-a");
+        boolean missingForA = cache.isMissing("1");
+
+        // Assert
+        assertTrue(missingForB);
+        assertFalse(missingForA);
+    }
+
+    private static ProductCache cache() {
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.setEnabled(true);
+        return new ProductCache(properties);
+    }
+}
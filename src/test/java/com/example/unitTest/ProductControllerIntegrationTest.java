@@ -192,4 +192,51 @@ public class ProductControllerIntegrationTest {
         // Kontrollera att produkten har tagits bort från databasen
         assertThat(productRepository.findById(savedProduct.getId())).isEmpty();
     }
+
+    // Test för att hämta en produkt efter id (GET /api/products/{id})
+    @Test
+    public void testGetProductById() throws Exception {
+        // Spara en produkt i databasen
+        Product product = new Product();
+        product.setName("Product A");
+        product.setDescription("Description A");
+        product.setPrice(15.99);
+        product.setStockQuantity(100);
+
+        Product savedProduct = productRepository.save(product);
+
+        // Befintligt id ger 200 OK, okänt id ger 404 Not Found
+        MvcResult result = mockMvc.perform(get("/api/products/" + savedProduct.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("Product A");
+
+        mockMvc.perform(get("/api/products/000000000000000000000000"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test för att hämta flera produkter efter id (GET /api/products?ids=...)
+    @Test
+    public void testGetProductsByIds() throws Exception {
+        // Spara produkter i databasen
+        Product product1 = new Product();
+        product1.setName("Product A");
+        product1.setPrice(15.99);
+        Product product2 = new Product();
+        product2.setName("Product B");
+        product2.setPrice(25.99);
+
+        Product saved1 = productRepository.save(product1);
+        Product saved2 = productRepository.save(product2);
+
+        // Okända id hoppas över
+        MvcResult result = mockMvc.perform(get("/api/products")
+                        .param("ids", saved2.getId(), saved1.getId(), "000000000000000000000000"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String jsonResponse = result.getResponse().getContentAsString();
+        assertThat(jsonResponse).contains("Product A", "Product B");
+        assertThat(jsonResponse.indexOf("Product B")).isLessThan(jsonResponse.indexOf("Product A"));
+    }
 }
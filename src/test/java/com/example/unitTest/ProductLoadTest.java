@@ -0,0 +1,244 @@
+package com.example.unitTest;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for the product endpoints against embedded Mongo. Excluded from
+ * the normal build, run it with:
+ * <pre>
+ * mvn test -Pload-test -Dload.catalog.sizes=10000,100000,1000000 -Dload.concurrency=1,8,32 -Dload.label=my-branch
+ * </pre>
+ * For every catalog size the collection is re-seeded, then each endpoint is
+ * driven over HTTP by a fixed number of closed-loop clients. Throughput and
+ * latency percentiles go to target/load-reports/&lt;label&gt;-&lt;time&gt;/summary.csv,
+ * with one HdrHistogram percentile distribution (.hgrm) per endpoint, catalog
+ * size and concurrency so that runs from different branches can be compared.
+ * Tenant quotas and bulkheads are off: they would turn the higher concurrency
+ * levels into 429/503 rejections instead of measuring the endpoints.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.tenants.quota.enabled=false", "app.bulkheads.enabled=false"})
+public class ProductLoadTest {
+
+    private static final String[] COLORS = {"Red", "Blue", "Green", "Black", "White", "Yellow", "Orange", "Purple",
+            "Pink", "Brown", "Grey", "Silver", "Gold", "Navy", "Teal", "Beige"};
+    private static final int DISTINCT_NAMES = 10_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final double MAX_PRICE = 1_000.0;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    public void loadProductEndpoints() throws Exception {
+        List<Integer> catalogSizes = intList("load.catalog.sizes", "10000");
+        List<Integer> concurrencyLevels = intList("load.concurrency", "1,8,32");
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "5s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "15s"));
+        int findAllMaxCatalog = Integer.getInteger("load.findAll.max-catalog", 100_000);
+
+        Path reportDir = Path.of("target", "load-reports", System.getProperty("load.label", "local") + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(reportDir);
+
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(reportDir.resolve("summary.csv")))) {
+            summary.println("catalog,endpoint,concurrency,requests,errors,throughput_rps,"
+                    + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (int catalogSize : catalogSizes) {
+                seed(catalogSize);
+                for (Map.Entry<String, Supplier<String>> endpoint : endpoints(catalogSize, findAllMaxCatalog).entrySet()) {
+                    for (int concurrency : concurrencyLevels) {
+                        drive(endpoint.getValue(), concurrency, warmup, null);
+                        Result result = drive(endpoint.getValue(), concurrency, duration, new ConcurrentHistogram(3));
+                        report(summary, reportDir, catalogSize, endpoint.getKey(), concurrency, duration, result);
+
+                        assertTrue(result.requests > 0, "No requests completed for " + endpoint.getKey());
+                        assertEquals(0, result.errors, "Failed requests for " + endpoint.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Request URIs per endpoint. Parameters are drawn at random so requests
+     * do not all hit the same documents.
+     */
+    private Map<String, Supplier<String>> endpoints(int catalogSize, int findAllMaxCatalog) {
+        Map<String, Supplier<String>> endpoints = new LinkedHashMap<>();
+        endpoints.put("name", () -> "/api/products/name/" + randomName());
+        endpoints.put("color", () -> "/api/products/color/" + randomColor());
+        endpoints.put("price", () -> {
+            double min = ThreadLocalRandom.current().nextDouble(MAX_PRICE - 10);
+            return "/api/products/price?minPrice=" + min + "&maxPrice=" + (min + 10);
+        });
+        endpoints.put("search-all", () -> "/api/products/search?color=" + randomColor() + "&maxPrice=50");
+        endpoints.put("search-any", () -> "/api/products/search?match=any&name=" + randomName()
+                + "&color=" + randomColor());
+        if (catalogSize <= findAllMaxCatalog) {
+            endpoints.put("all", () -> "/api/products");
+        }
+        return endpoints;
+    }
+
+    /**
+     * Replaces the catalog with {@code size} deterministic products.
+     */
+    private void seed(int size) {
+        long start = System.nanoTime();
+        mongoTemplate.dropCollection(Product.class);
+        indexInitializer.ensureIndexes();
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class));
+        Random random = new Random(42);
+        List<Document> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < size; i++) {
+            batch.add(new Document("tenantId", TenantContext.DEFAULT_TENANT)
+                    .append("name", "Product-" + (i % DISTINCT_NAMES))
+                    .append("description", "Load test product " + i)
+                    .append("color", COLORS[random.nextInt(COLORS.length)])
+                    .append("price", Math.round(random.nextDouble() * MAX_PRICE * 100) / 100.0)
+                    .append("stockQuantity", random.nextInt(500))
+                    .append("_class", Product.class.getName()));
+            if (batch.size() == SEED_BATCH) {
+                collection.insertMany(batch, new InsertManyOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch, new InsertManyOptions().ordered(false));
+        }
+        System.out.printf("Seeded %,d products in %d ms%n", size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Runs {@code concurrency} clients that each send the next request as soon
+     * as the previous one completed, for the given duration.
+     */
+    private Result drive(Supplier<String> uris, int concurrency, Duration duration, Histogram histogram)
+            throws InterruptedException {
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long end = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < end) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + uris.get()))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    } catch (IOException ex) {
+                        errors.increment();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (histogram != null) {
+                        histogram.recordValue(System.nanoTime() - start);
+                    }
+                    requests.increment();
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        return new Result(requests.sum(), errors.sum(), histogram);
+    }
+
+    private void report(PrintStream summary, Path reportDir, int catalogSize, String endpoint, int concurrency,
+                        Duration duration, Result result) throws IOException {
+        Histogram histogram = result.histogram;
+        double throughput = result.requests / (duration.toNanos() / 1e9);
+        summary.printf("%d,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f%n", catalogSize, endpoint, concurrency,
+                result.requests, result.errors, throughput,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+        summary.flush();
+        Path hgrm = reportDir.resolve(endpoint + "-" + catalogSize + "-c" + concurrency + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+            // Values are recorded in nanoseconds, scaled to milliseconds in the output
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+        System.out.printf("catalog=%,d endpoint=%s concurrency=%d: %.1f req/s, p99=%.2f ms, errors=%d%n",
+                catalogSize, endpoint, concurrency, throughput, millis(histogram.getValueAtPercentile(99)),
+                result.errors);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String randomName() {
+        return "Product-" + ThreadLocalRandom.current().nextInt(DISTINCT_NAMES);
+    }
+
+    private static String randomColor() {
+        return COLORS[ThreadLocalRandom.current().nextInt(COLORS.length)];
+    }
+
+    private static List<Integer> intList(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+    }
+
+    private record Result(long requests, long errors, Histogram histogram) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.unitTest;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous inline trim()-based validation and copy with
+ * {@link ProductMapper}. Names with surrounding whitespace are common in
+ * client input, and for those trim() allocates a new string on every check.
+ *
+ * Run with the GC profiler to see allocation per operation:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ProductMapperBenchmark -Dbenchmark.args="-prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    @Param({"Red Shoe", "  Red Shoe  "})
+    public String name;
+
+    private ProductDTO productDTO;
+
+    @Setup
+    public void setUp() {
+        productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription("Comfortable running shoe");
+        productDTO.setColor("Red");
+        productDTO.setPrice(59.90);
+        productDTO.setStockQuantity(12);
+    }
+
+    @Benchmark
+    public Product inlineTrimValidation() {
+        if (productDTO.getPrice() < 0) {
+            throw new InvalidProductException("Price cannot be negative.");
+        }
+        if (productDTO.getStockQuantity() < 0) {
+            throw new InvalidProductException("Stock quantity cannot be negative.");
+        }
+        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
+            throw new InvalidProductException("Product name cannot be null or empty.");
+        }
+        Product product = new Product();
+        product.setName(productDTO.getName());
+        product.setDescription(productDTO.getDescription());
+        product.setColor(productDTO.getColor());
+        product.setPrice(productDTO.getPrice());
+        product.setStockQuantity(productDTO.getStockQuantity());
+        return product;
+    }
+
+    @Benchmark
+    public Product sharedMapper() {
+        return ProductMapper.toValidProduct(productDTO);
+    }
+}
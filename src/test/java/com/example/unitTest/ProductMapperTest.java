@@ -0,0 +1,77 @@
+package com.example.unitTest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductMapperTest {
+
+    private ProductDTO validDto() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Product A");
+        productDTO.setDescription("Description A");
+        productDTO.setColor("Red");
+        productDTO.setPrice(10.99);
+        productDTO.setStockQuantity(100);
+        return productDTO;
+    }
+
+    /**
+     * A valid DTO passes validation and every field is copied.
+     */
+    @Test
+    public void testToValidProduct_Success() {
+        // Arrange
+        ProductDTO productDTO = validDto();
+
+        // Act
+        Product product = ProductMapper.toValidProduct(productDTO);
+
+        // Assert
+        assertNull(ProductMapper.validate(productDTO), "A valid DTO should have no error");
+        assertNull(product.getId(), "The ID should be left for the database");
+        assertEquals("Product A", product.getName());
+        assertEquals("Description A", product.getDescription());
+        assertEquals("Red", product.getColor());
+        assertEquals(10.99, product.getPrice());
+        assertEquals(100, product.getStockQuantity());
+    }
+
+    /**
+     * Each rule reports its own error code.
+     */
+    @Test
+    public void testValidate_ErrorCodes() {
+        ProductDTO blankName = validDto();
+        blankName.setName(" \t ");
+        assertEquals(ErrorCode.PRODUCT_NAME_REQUIRED, ProductMapper.validate(blankName));
+
+        ProductDTO negativePrice = validDto();
+        negativePrice.setPrice(-1);
+        assertEquals(ErrorCode.PRODUCT_PRICE_NEGATIVE, ProductMapper.validate(negativePrice));
+
+        ProductDTO negativeStock = validDto();
+        negativeStock.setStockQuantity(-1);
+        assertEquals(ErrorCode.PRODUCT_STOCK_NEGATIVE, ProductMapper.validate(negativeStock));
+
+        ProductDTO negativeThreshold = validDto();
+        negativeThreshold.setLowStockThreshold(-1);
+        assertEquals(ErrorCode.PRODUCT_THRESHOLD_NEGATIVE, ProductMapper.validate(negativeThreshold));
+    }
+
+    /**
+     * An invalid DTO is rejected with the error code and its fixed message.
+     */
+    @Test
+    public void testToValidProduct_Invalid() {
+        // Arrange
+        ProductDTO productDTO = validDto();
+        productDTO.setName(null);
+
+        // Act & Assert
+        InvalidProductException exception = assertThrows(InvalidProductException.class,
+                () -> ProductMapper.toValidProduct(productDTO));
+        assertEquals(ErrorCode.PRODUCT_NAME_REQUIRED, exception.getErrorCode());
+        assertEquals("Product name cannot be null or empty.", exception.getMessage());
+    }
+}
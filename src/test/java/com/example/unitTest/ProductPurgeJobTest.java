@@ -0,0 +1,137 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProductPurgeJobTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T03:00:00Z");
+
+    private ProductRepository productRepository;
+    private MongoTemplate mongoTemplate;
+    private SoftDeleteProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        // The lease upsert echoes back whichever holder the job wrote, i.e. this instance holds it
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(ProductPurgeJob.LEASE_COLLECTION)))
+                .thenAnswer(invocation -> new Document("holder",
+                        invocation.getArgument(1, Update.class).getUpdateObject().get("$set", Document.class)
+                                .getString("holder")));
+        properties = new SoftDeleteProperties();
+        properties.setRetention(Duration.ofDays(1));
+        properties.setPurgeBatchSize(100);
+        properties.setPurgeBatchPause(Duration.ZERO);
+    }
+
+    /**
+     * Batches are purged until a partial batch shows nothing is left, only for products past the retention.
+     */
+    @Test
+    public void testPurge_StopsWhenDone() {
+        // Arrange
+        when(productRepository.purgeDeleted(any(Instant.class), anyInt())).thenReturn(100L, 100L, 30L);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductPurgeJob job = new ProductPurgeJob(productRepository, mongoTemplate, properties, meterRegistry,
+                Clock.fixed(START, ZoneOffset.UTC));
+
+        // Act
+        long purged = job.purge();
+
+        // Assert
+        assertEquals(230, purged);
+        verify(productRepository, times(3)).purgeDeleted(START.minus(Duration.ofDays(1)), 100);
+        assertEquals(230, meterRegistry.get("products.purged").counter().count());
+    }
+
+    /**
+     * The run stops at purge-max-run-time even if more products are waiting.
+     */
+    @Test
+    public void testPurge_StopsAtMaxRunTime() {
+        // Arrange: every batch takes 20 minutes, the window is one hour
+        properties.setPurgeMaxRunTime(Duration.ofHours(1));
+        SteppingClock clock = new SteppingClock(Duration.ofMinutes(20));
+        when(productRepository.purgeDeleted(any(Instant.class), anyInt())).thenAnswer(invocation -> {
+            clock.step();
+            return 100L;
+        });
+        ProductPurgeJob job = new ProductPurgeJob(productRepository, mongoTemplate, properties, new SimpleMeterRegistry(), clock);
+
+        // Act
+        long purged = job.purge();
+
+        // Assert
+        assertEquals(300, purged);
+    }
+
+    /**
+     * While another instance holds the purge lease nothing is deleted.
+     */
+    @Test
+    public void testPurge_LeaseHeldElsewhere() {
+        // Arrange
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(ProductPurgeJob.LEASE_COLLECTION)))
+                .thenThrow(new DuplicateKeyException("lease held"));
+        ProductPurgeJob job = new ProductPurgeJob(productRepository, mongoTemplate, properties,
+                new SimpleMeterRegistry(), Clock.fixed(START, ZoneOffset.UTC));
+
+        // Act
+        long purged = job.purge();
+
+        // Assert
+        assertEquals(0, purged);
+        verifyNoInteractions(productRepository);
+    }
+
+    private static final class SteppingClock extends Clock {
+        private final Duration step;
+        private Instant now = START;
+
+        SteppingClock(Duration step) {
+            this.step = step;
+        }
+
+        void step() {
+            now = now.plus(step);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.unitTest;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProductRepositoryImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private ProductRepositoryImpl repository;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of());
+        // The read settings of application.properties
+        MongoReadProperties readProperties = new MongoReadProperties();
+        readProperties.getList().setReadPreference("secondaryPreferred");
+        readProperties.getList().setMaxStaleness(Duration.ofSeconds(90));
+        readProperties.getList().setReadConcern("local");
+        readProperties.getLookup().setReadPreference("primary");
+        readProperties.getLookup().setReadConcern("majority");
+        repository = new ProductRepositoryImpl(mongoTemplate, readProperties,
+                new QueryDeadlines(new QueryTimeoutProperties()), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Test the list queries to ensure every one reads with the list read preference and read concern.
+     */
+    @Test
+    public void testListQueries_UseListReadSettings() {
+        // Act
+        ProductSearch search = new ProductSearch();
+        search.setColor("Red");
+        repository.findAll();
+        repository.findAll(Sort.by("price"), Limit.of(10));
+        repository.findByName("Chair");
+        repository.findByName("Chair", Sort.by("price"), Limit.of(10));
+        repository.findByPriceBetween(10, 20);
+        repository.findByPriceBetween(10, 20, Sort.by("price"), Limit.of(10));
+        repository.findByColor("Red");
+        repository.findByColor("Red", Sort.by("price"), Limit.of(10));
+        repository.search(search);
+
+        // Assert
+        List<Query> queries = capturedQueries(9);
+        ReadPreference expected = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+        for (Query query : queries) {
+            assertEquals(expected, query.getReadPreference(), query.toString());
+            assertEquals(ReadConcern.LOCAL, query.getReadConcern(), query.toString());
+        }
+    }
+
+    /**
+     * Test the lookups by id to ensure they read from the primary with majority read concern.
+     */
+    @Test
+    public void testLookups_UsePrimaryAndMajority() {
+        // Act
+        repository.findById("1");
+        repository.findAllById(List.of("1", "2"));
+
+        // Assert
+        for (Query query : capturedQueries(2)) {
+            assertEquals(ReadPreference.primary(), query.getReadPreference(), query.toString());
+            assertEquals(ReadConcern.MAJORITY, query.getReadConcern(), query.toString());
+        }
+    }
+
+    private List<Query> capturedQueries(int expected) {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(expected)).find(query.capture(), eq(Product.class));
+        return query.getAllValues();
+    }
+}
@@ -5,12 +5,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ProductServiceNegativeTest {
@@ -18,6 +24,18 @@ public class ProductServiceNegativeTest {
     @Mock
     private ProductRepository productRepository;
 
+    // Mock the ProductCache; an unstubbed mock behaves as an empty cache
+    @Mock
+    private ProductCache productCache;
+
+    // Mock the ProductStatistics; create and delete only report to it
+    @Mock
+    private ProductStatistics productStatistics;
+
+    // Mock the event publisher; listeners such as LowStockMonitor are tested on their own
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     // Inject the mocks into ProductService
     @InjectMocks
     private NewProductService productService;
@@ -39,8 +57,8 @@ public class ProductServiceNegativeTest {
         String nonExistentProductId = "nonexistent_id";
 
         // Mock the behavior: Simulate that the product does not exist
-        // When checking existence, return false
-        when(productRepository.existsById(nonExistentProductId)).thenReturn(false);
+        // No live product is found to remove
+        when(productRepository.removeById(nonExistentProductId)).thenReturn(Optional.empty());
 
         // Act & Assert: Expect ProductNotFoundException when deleting a non-existent product
         ProductNotFoundException exception = assertThrows(ProductNotFoundException.class, () -> {
@@ -50,7 +68,24 @@ public class ProductServiceNegativeTest {
         // Verify the exception message
         assertTrue(exception.getMessage().contains("Product not found with id: " + nonExistentProductId));
 
-        // Verify that deleteById was never called since the product does not exist
+        // Verify that nothing was deleted or reported since the product does not exist
+        verify(productRepository, never()).deleteById(anyString());
+        verifyNoInteractions(productStatistics, eventPublisher);
+    }
+
+    /**
+     * Test deleteProductN with soft delete enabled to ensure a missing product is not hard-deleted and raises
+     * ProductNotFoundException.
+     */
+    @Test
+    public void testDeleteProduct_SoftDeleteProductDoesNotExist() {
+        // Arrange: soft delete is on and no live product matches
+        ReflectionTestUtils.setField(productService, "softDelete", true);
+        when(productRepository.softDeleteById(eq("nonexistent_id"), any(Instant.class))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.deleteProductN("nonexistent_id"));
+        verify(productRepository, never()).removeById(anyString());
         verify(productRepository, never()).deleteById(anyString());
     }
 
@@ -2,14 +2,27 @@ package com.example.unitTest;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ProductServiceTest {
@@ -18,6 +31,22 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    // Mock the ProductCache; an unstubbed mock behaves as an empty cache
+    @Mock
+    private ProductCache productCache;
+
+    // Mock the ProductStatistics; create and delete only report to it
+    @Mock
+    private ProductStatistics productStatistics;
+
+    // Mock the event publisher; listeners such as LowStockMonitor are tested on their own
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Mock the ProductOutbox; writes run directly, as with the outbox disabled
+    @Mock
+    private ProductOutbox productOutbox;
+
     // Inject the mocks into ProductService
     @InjectMocks
     private ProductService productService;
@@ -26,6 +55,7 @@ public class ProductServiceTest {
     public void setUp() {
         // Initialize mocks created above
         MockitoAnnotations.openMocks(this);
+        when(productOutbox.execute(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
     }
 
     /**
@@ -123,15 +153,18 @@ public class ProductServiceTest {
     public void testDeleteProduct_Success() {
         // Arrange: Define a product ID to delete
         String productId = "1";
+        Product product = new Product();
+        product.setId(productId);
 
-        // Mock the behavior of productRepository.deleteById (void method)
-        doNothing().when(productRepository).deleteById(productId);
+        // Mock the behavior of productRepository.removeById (findAndRemove of the live product)
+        when(productRepository.removeById(productId)).thenReturn(Optional.of(product));
 
         // Act: Call the deleteProduct method
         productService.deleteProduct(productId);
 
-        // Assert: Verify that deleteById was called once with the correct ID
-        verify(productRepository, times(1)).deleteById(productId);
+        // Assert: Verify that removeById was called once with the correct ID and the deletion recorded
+        verify(productRepository, times(1)).removeById(productId);
+        verify(productOutbox).append(OutboxRecord.Type.DELETED, productId, product);
     }
 
     /**
@@ -253,6 +286,415 @@ public class ProductServiceTest {
         verify(productRepository, times(1)).findByColor(color);
     }
 
+    /**
+     * Test searchProducts with match=all to ensure the criteria go to the repository as one query.
+     */
+    @Test
+    public void testSearchProducts_MatchAll() {
+        // Arrange: A search on color and maximum price
+        ProductSearch search = new ProductSearch();
+        search.setColor("Red");
+        search.setMaxPrice(50.0);
+
+        Product product = new Product();
+        product.setId("1");
+        product.setColor("Red");
+        product.setPrice(10.99);
+        when(productRepository.search(search)).thenReturn(List.of(product));
+
+        // Act
+        List<Product> result = productService.searchProducts(search);
+
+        // Assert: One combined query, no per-criterion queries
+        assertEquals(1, result.size());
+        verify(productRepository, times(1)).search(search);
+        verify(productRepository, never()).findByColor(anyString());
+    }
+
+    /**
+     * Test searchProducts with match=any to ensure sub-query results are merged without duplicates.
+     */
+    @Test
+    public void testSearchProducts_MatchAny() {
+        // Arrange: Run sub-queries on the calling thread
+        ReflectionTestUtils.setField(productService, "productQueryExecutor", (Executor) Runnable::run);
+        ProductSearch search = new ProductSearch();
+        search.setName("Product A");
+        search.setColor("Red");
+        search.setMatch("any");
 
-}
+        Product product1 = new Product();
+        product1.setId("1");
+        product1.setName("Product A");
+        product1.setColor("Red");
+
+        Product product2 = new Product();
+        product2.setId("2");
+        product2.setName("Product B");
+        product2.setColor("Red");
+
+        when(productRepository.findByName("Product A")).thenReturn(List.of(product1));
+        when(productRepository.findByColor("Red")).thenReturn(List.of(product1, product2));
+
+        // Act
+        List<Product> result = productService.searchProducts(search);
+
+        // Assert: product1 matches both criteria but is returned once
+        assertEquals(List.of("1", "2"), result.stream().map(Product::getId).toList());
+        verify(productRepository, never()).search(any());
+    }
+
+    /**
+     * Test searchProducts to ensure a search without criteria is rejected.
+     */
+    @Test
+    public void testSearchProducts_NoCriteria() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.searchProducts(new ProductSearch()));
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test getProductById to ensure a cache miss reads the repository and fills the cache.
+     */
+    @Test
+    public void testGetProductById_CacheMiss() {
+        // Arrange
+        Product product = new Product();
+        product.setId("1");
+        product.setName("Product A");
+        when(productRepository.findById("1")).thenReturn(Optional.of(product));
+
+        // Act
+        Product result = productService.getProductById("1");
+
+        // Assert
+        assertSame(product, result);
+        verify(productCache).put(product);
+    }
+
+    /**
+     * Test getProductById to ensure a cached product is returned without a repository call.
+     */
+    @Test
+    public void testGetProductById_CacheHit() {
+        // Arrange
+        Product product = new Product();
+        product.setId("1");
+        when(productCache.get("1")).thenReturn(product);
+
+        // Act
+        Product result = productService.getProductById("1");
+
+        // Assert
+        assertSame(product, result);
+        verify(productRepository, never()).findById(anyString());
+    }
+
+    /**
+     * Test getProductById to ensure a missing product raises ProductNotFoundException.
+     */
+    @Test
+    public void testGetProductById_NotFound() {
+        // Arrange
+        when(productRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById("missing"));
+        verify(productCache, never()).put(any());
+    }
+
+    /**
+     * Test getProductById to ensure an id cached as missing is rejected without a repository call.
+     */
+    @Test
+    public void testGetProductById_NegativeCacheHit() {
+        // Arrange
+        when(productCache.isMissing("missing")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById("missing"));
+        verify(productRepository, never()).findById(anyString());
+    }
+
+    /**
+     * Test getProductsByIds to ensure cached products are reused, the rest are loaded in one query
+     * and unknown ids are remembered as missing.
+     */
+    @Test
+    public void testGetProductsByIds() {
+        // Arrange: "1" is cached, "2" exists in the database, "3" does not exist
+        Product product1 = new Product();
+        product1.setId("1");
+        Product product2 = new Product();
+        product2.setId("2");
+        when(productCache.get("1")).thenReturn(product1);
+        when(productRepository.findAllById(List.of("2", "3"))).thenReturn(List.of(product2));
+
+        // Act: ids are returned in request order, duplicates once
+        List<Product> result = productService.getProductsByIds(List.of("2", "1", "3", "2"));
+
+        // Assert
+        assertEquals(List.of("2", "1"), result.stream().map(Product::getId).toList());
+        verify(productRepository, times(1)).findAllById(List.of("2", "3"));
+        verify(productCache).put(product2);
+        verify(productCache).putMissing("3");
+    }
+
+    /**
+     * Test getProductsByIds to ensure an empty or oversized batch is rejected.
+     */
+    @Test
+    public void testGetProductsByIds_InvalidBatch() {
+        List<String> tooMany = IntStream.rangeClosed(0, ProductService.MAX_BATCH_IDS)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(tooMany));
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test getProductsByColor with sort and limit to ensure both are pushed down to the repository.
+     */
+    @Test
+    public void testGetProductsByColor_SortedAndLimited() {
+        // Arrange: "cheapest 20 red products"
+        Product product = new Product();
+        product.setColor("Red");
+        product.setPrice(5.0);
+        when(productRepository.findByColor("Red", Sort.by(Sort.Direction.ASC, "price"), Limit.of(20)))
+                .thenReturn(List.of(product));
+
+        // Act
+        List<Product> result = productService.getProductsByColor("Red", ProductListOptions.of("price,asc", 20));
+
+        // Assert: the unsorted query is not used
+        assertEquals(List.of(product), result);
+        verify(productRepository, never()).findByColor("Red");
+    }
 
+    /**
+     * Test searchProducts with match=any, sort and limit to ensure the merged result is sorted and cut to the limit.
+     */
+    @Test
+    public void testSearchProducts_MatchAnySortedAndLimited() {
+        // Arrange
+        ReflectionTestUtils.setField(productService, "productQueryExecutor", (Executor) Runnable::run);
+        ProductSearch search = new ProductSearch();
+        search.setName("Product A");
+        search.setColor("Red");
+        search.setMatch("any");
+        search.setSort("stockQuantity,desc");
+        search.setLimit(2);
+
+        Product product1 = new Product();
+        product1.setId("1");
+        product1.setStockQuantity(5);
+        Product product2 = new Product();
+        product2.setId("2");
+        product2.setStockQuantity(50);
+        Product product3 = new Product();
+        product3.setId("3");
+        product3.setStockQuantity(20);
+
+        Sort sort = Sort.by(Sort.Direction.DESC, "stockQuantity");
+        when(productRepository.findByName("Product A", sort, Limit.of(2))).thenReturn(List.of(product3, product1));
+        when(productRepository.findByColor("Red", sort, Limit.of(2))).thenReturn(List.of(product2, product3));
+
+        // Act
+        List<Product> result = productService.searchProducts(search);
+
+        // Assert: the two most stocked of the merged results
+        assertEquals(List.of("2", "3"), result.stream().map(Product::getId).toList());
+    }
+
+    /**
+     * Test ProductListOptions to ensure unindexed sort fields and out-of-range limits are rejected.
+     */
+    @Test
+    public void testListOptions_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> ProductListOptions.of("description", null));
+        assertThrows(IllegalArgumentException.class, () -> ProductListOptions.of("price,sideways", null));
+        assertThrows(IllegalArgumentException.class, () -> ProductListOptions.of(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProductListOptions.of(null, ProductListOptions.MAX_LIMIT + 1));
+        assertTrue(ProductListOptions.of(" ", null).isDefault());
+    }
+
+    /**
+     * Test the list endpoints to ensure sort fields without a supporting index for the filter are rejected before querying.
+     */
+    @Test
+    public void testListOptions_SortWithoutIndexForEndpoint() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getProductsByColor("Red", ProductListOptions.of("name", 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getProductsByPriceRange(0, 10, ProductListOptions.of("stockQuantity", 10)));
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test deleteProduct to ensure the deleted product is uncounted from the statistics.
+     */
+    @Test
+    public void testDeleteProduct_UpdatesStatistics() {
+        // Arrange
+        Product product = new Product();
+        product.setId("1");
+        product.setColor("Red");
+        when(productRepository.removeById("1")).thenReturn(Optional.of(product));
+
+        // Act
+        productService.deleteProduct("1");
+
+        // Assert
+        verify(productStatistics).removed(product);
+    }
+
+    /**
+     * Test deleteProduct to ensure deleting an unknown or already deleted id records no outbox event or change.
+     */
+    @Test
+    public void testDeleteProduct_NothingRemoved() {
+        // Arrange: removeById finds no live product
+        when(productRepository.removeById("missing")).thenReturn(Optional.empty());
+
+        // Act
+        productService.deleteProduct("missing");
+
+        // Assert
+        verify(productOutbox, never()).append(any(), anyString(), any());
+        verifyNoInteractions(productStatistics, eventPublisher);
+    }
+
+    /**
+     * Test updateProduct to ensure the product is replaced, evicted from the cache and the change is published.
+     */
+    @Test
+    public void testUpdateProduct_Success() {
+        // Arrange
+        Product existing = new Product();
+        existing.setId("1");
+        existing.setName("Product A");
+        existing.setStockQuantity(20);
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Product A");
+        productDTO.setStockQuantity(3);
+        when(productRepository.findById("1")).thenReturn(Optional.of(existing));
+        when(productRepository.replaceLive(any(Product.class), isNull()))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        // Act
+        Product result = productService.updateProduct("1", productDTO);
+
+        // Assert
+        assertEquals("1", result.getId());
+        assertEquals(3, result.getStockQuantity());
+        verify(productCache).evict("1");
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(existing, result));
+    }
+
+    /**
+     * Test updateProduct to ensure a color change, part of the shard key, replaces by the stored color.
+     */
+    @Test
+    public void testUpdateProduct_ColorChangeReplacesByStoredColor() {
+        // Arrange
+        Product existing = new Product();
+        existing.setId("1");
+        existing.setColor("Red");
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Product A");
+        productDTO.setColor("Blue");
+        when(productRepository.findById("1")).thenReturn(Optional.of(existing));
+        when(productRepository.replaceLive(any(Product.class), eq("Red")))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        // Act
+        Product result = productService.updateProduct("1", productDTO);
+
+        // Assert
+        assertEquals("Blue", result.getColor());
+        verify(productRepository, never()).save(any());
+    }
+
+    /**
+     * Test updateProduct to ensure a product deleted between the read and the replace is not recreated:
+     * the update fails with ProductNotFoundException and records nothing.
+     */
+    @Test
+    public void testUpdateProduct_DeletedConcurrently() {
+        // Arrange
+        Product existing = new Product();
+        existing.setId("1");
+        existing.setColor("Red");
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Product A");
+        productDTO.setColor("Red");
+        when(productRepository.findById("1")).thenReturn(Optional.of(existing));
+        when(productRepository.replaceLive(any(Product.class), eq("Red"))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.updateProduct("1", productDTO));
+        verify(productRepository, never()).save(any());
+        verify(productOutbox, never()).append(any(), anyString(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test updateProduct to ensure updating a missing product raises ProductNotFoundException without saving.
+     */
+    @Test
+    public void testUpdateProduct_NotFound() {
+        // Arrange
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Product A");
+        when(productRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.updateProduct("missing", productDTO));
+        verify(productRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test createProduct to ensure the outbox record is appended inside the outbox write.
+     */
+    @Test
+    public void testCreateProduct_AppendsOutboxRecord() {
+        // Arrange
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Product A");
+        Product savedProduct = new Product();
+        savedProduct.setId("1");
+        when(productRepository.save(any(Product.class))).thenReturn(savedProduct);
+
+        // Act
+        productService.createProduct(productDTO);
+
+        // Assert
+        InOrder inOrder = inOrder(productOutbox, productRepository);
+        inOrder.verify(productOutbox).execute(any());
+        inOrder.verify(productRepository).save(any(Product.class));
+        inOrder.verify(productOutbox).append(OutboxRecord.Type.CREATED, "1", savedProduct);
+    }
+
+    /**
+     * Test deleteProduct in soft-delete mode to ensure the product is marked instead of removed.
+     */
+    @Test
+    public void testDeleteProduct_SoftDelete() {
+        // Arrange
+        ReflectionTestUtils.setField(productService, "softDelete", true);
+
+        // Act
+        productService.deleteProduct("1");
+
+        // Assert
+        verify(productRepository).softDeleteById(eq("1"), any(Instant.class));
+        verify(productRepository, never()).removeById(anyString());
+        verify(productCache).evict("1");
+    }
+}
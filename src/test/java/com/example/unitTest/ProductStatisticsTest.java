@@ -0,0 +1,182 @@
+package com.example.unitTest;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProductStatisticsTest {
+
+    private MongoTemplate mongoTemplate;
+    private MutableClock clock;
+    private ProductStatistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        clock = new MutableClock();
+        statistics = new ProductStatistics(mongoTemplate, new QueryDeadlines(new QueryTimeoutProperties()),
+                Duration.ofMinutes(10), 1000, clock);
+        // Each seed gets a fresh stream: Red/A x2, Blue/B x1
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(Product.class), eq(Document.class)))
+                .thenAnswer(invocation -> Stream.of(group("Red", "A", 2), group("Blue", "B", 1)));
+    }
+
+    /**
+     * Test stats to ensure counters are seeded once and then follow creates and deletes without queries.
+     */
+    @Test
+    public void testStats_IncrementalAfterSeed() {
+        // Act
+        ProductStats seeded = statistics.stats();
+        statistics.added(product("Red", "C"));
+        statistics.removed(product("Blue", "B"));
+        ProductStats updated = statistics.stats();
+
+        // Assert
+        assertEquals(3, seeded.estimatedTotal());
+        assertEquals(Map.of("Blue", 1L, "Red", 2L), seeded.countsByColor());
+        assertEquals(2, seeded.distinctNames());
+        assertEquals(Map.of("Blue", 0L, "Red", 3L), updated.countsByColor());
+        assertEquals(3, updated.distinctNames());
+        verify(mongoTemplate, times(1)).aggregateStream(any(Aggregation.class), eq(Product.class), eq(Document.class));
+    }
+
+    /**
+     * Test stats to ensure counters are re-seeded after the resync interval and after invalidate.
+     */
+    @Test
+    public void testStats_Resync() {
+        // Arrange
+        statistics.stats();
+        statistics.added(product("Green", "D"));
+
+        // Act: past the interval the local Green count is replaced by the recount
+        clock.advance(Duration.ofMinutes(11));
+        ProductStats resynced = statistics.stats();
+        statistics.invalidate();
+        statistics.stats();
+
+        // Assert
+        assertEquals(Map.of("Blue", 1L, "Red", 2L), resynced.countsByColor());
+        verify(mongoTemplate, times(3)).aggregateStream(any(Aggregation.class), eq(Product.class), eq(Document.class));
+    }
+
+    /**
+     * Test stats to ensure a tenant's slow re-seed, bounded by maxTimeMS, serves the old counts to that tenant's
+     * other callers and never blocks another tenant.
+     */
+    @Test
+    public void testStats_ReseedBlocksNobody() throws Exception {
+        // Arrange: seed tenant a, then make its re-seed hang until released
+        TenantContext.set("a");
+        try {
+            statistics.stats();
+        } finally {
+            TenantContext.clear();
+        }
+        clock.advance(Duration.ofMinutes(11));
+        CountDownLatch reseedStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        when(mongoTemplate.aggregateStream(aggregation.capture(), eq(Product.class), eq(Document.class)))
+                .thenAnswer(invocation -> {
+                    if (invocation.getArgument(0, Aggregation.class).toString().contains("\"a\"")) {
+                        reseedStarted.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    return Stream.of(group("Red", "A", 7));
+                });
+        ExecutorService reseeder = Executors.newSingleThreadExecutor();
+        try {
+            Future<ProductStats> reseed = reseeder.submit(() -> {
+                TenantContext.set("a");
+                try {
+                    return statistics.stats();
+                } finally {
+                    TenantContext.clear();
+                }
+            });
+            assertTrue(reseedStarted.await(5, TimeUnit.SECONDS));
+
+            // Act: while tenant a re-seeds, its other callers and tenant b answer without waiting
+            TenantContext.set("a");
+            ProductStats stale;
+            try {
+                stale = statistics.stats();
+            } finally {
+                TenantContext.clear();
+            }
+            TenantContext.set("b");
+            ProductStats other;
+            try {
+                other = statistics.stats();
+            } finally {
+                TenantContext.clear();
+            }
+            release.countDown();
+
+            // Assert
+            assertEquals(Map.of("Blue", 1L, "Red", 2L), stale.countsByColor());
+            assertEquals(Map.of("Red", 7L), other.countsByColor());
+            assertEquals(Map.of("Red", 7L), reseed.get(5, TimeUnit.SECONDS).countsByColor());
+            assertEquals(Duration.ofSeconds(5), aggregation.getValue().getOptions().getMaxTime());
+        } finally {
+            reseeder.shutdownNow();
+        }
+    }
+
+    private static Document group(String color, String name, int count) {
+        return new Document("_id", new Document("color", color).append("name", name)).append("count", count);
+    }
+
+    private static Product product(String color, String name) {
+        Product product = new Product();
+        product.setColor(color);
+        product.setName(name);
+        return product;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.unitTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryDeadlinesTest {
+
+    private QueryDeadlines queryDeadlines;
+
+    @BeforeEach
+    public void setUp() {
+        QueryTimeoutProperties properties = new QueryTimeoutProperties();
+        properties.setDefaultMaxTime(Duration.ofSeconds(3));
+        properties.getQueries().put("findByPriceBetween", Duration.ofSeconds(1));
+        queryDeadlines = new QueryDeadlines(properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    /**
+     * Without a request deadline the configured per-query limit is used.
+     */
+    @Test
+    public void testMaxTime_NoDeadline() {
+        assertEquals(Duration.ofSeconds(1), queryDeadlines.maxTime("findByPriceBetween"));
+        assertEquals(Duration.ofSeconds(3), queryDeadlines.maxTime("findByColor"));
+    }
+
+    /**
+     * A request deadline shorter than the query limit caps maxTimeMS.
+     */
+    @Test
+    public void testMaxTime_CappedByDeadline() {
+        // Arrange
+        RequestDeadline.start(Duration.ofMillis(500));
+
+        // Act
+        Duration maxTime = queryDeadlines.maxTime("findByColor");
+
+        // Assert
+        assertTrue(maxTime.compareTo(Duration.ofMillis(500)) <= 0, "maxTime should not exceed the deadline");
+        assertTrue(maxTime.toMillis() > 0, "maxTime should be positive");
+    }
+
+    /**
+     * An expired deadline fails fast without reaching Mongo.
+     */
+    @Test
+    public void testMaxTime_DeadlinePassed() {
+        // Arrange
+        RequestDeadline.start(Duration.ofMillis(-1));
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> queryDeadlines.maxTime("findByColor"));
+    }
+}
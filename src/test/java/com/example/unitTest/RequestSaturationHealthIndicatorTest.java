@@ -0,0 +1,35 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestSaturationHealthIndicatorTest {
+
+    /**
+     * Test health to ensure the instance is OUT_OF_SERVICE while more requests are in flight than allowed.
+     */
+    @Test
+    public void testHealth_FollowsInFlightRequests() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InFlightRequests inFlightRequests = new InFlightRequests(meterRegistry);
+        ReadinessProperties properties = new ReadinessProperties();
+        properties.setMaxInFlightRequests(1);
+        RequestSaturationHealthIndicator indicator = new RequestSaturationHealthIndicator(inFlightRequests, properties);
+
+        // Act
+        inFlightRequests.preHandle(null, null, null);
+        Status atLimit = indicator.health().getStatus();
+        inFlightRequests.preHandle(null, null, null);
+        Status saturated = indicator.health().getStatus();
+        inFlightRequests.afterCompletion(null, null, null, null);
+
+        // Assert
+        assertEquals(Status.UP, atLimit);
+        assertEquals(Status.OUT_OF_SERVICE, saturated);
+        assertEquals(1.0, meterRegistry.get("products.requests.inflight").gauge().value());
+    }
+}
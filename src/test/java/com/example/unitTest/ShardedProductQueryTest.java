@@ -0,0 +1,235 @@
+package com.example.unitTest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import de.flapdoodle.embed.mongo.commands.MongodArguments;
+import de.flapdoodle.embed.mongo.commands.MongosArguments;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.config.Storage;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.Mongos;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.embed.mongo.transitions.RunningMongosProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.flapdoodle.reverse.transitions.Start;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonMinKey;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the product repository queries against a local sharded cluster (one
+ * config server, two shards, one mongos) and checks with explain that queries
+ * carrying the shard key are routed to a single shard while the others are
+ * broadcast. Excluded from the normal build, run with: mvn test -Psharding-test
+ */
+@Tag("sharding")
+public class ShardedProductQueryTest {
+
+    private static final Version.Main VERSION = Version.Main.V7_0;
+    private static final String DATABASE = "test";
+
+    private static final List<TransitionWalker.ReachedState<?>> processes = new ArrayList<>();
+    private static final AtomicReference<BsonDocument> lastFind = new AtomicReference<>();
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static ProductRepositoryImpl repository;
+
+    @BeforeAll
+    public static void startCluster() throws InterruptedException {
+        ServerAddress config = startReplicaSetMember("config", MongodArguments.defaults()
+                .withIsConfigServer(true)
+                .withReplication(Storage.of("config", 0)));
+        ServerAddress shard1 = startReplicaSetMember("shard1", MongodArguments.defaults()
+                .withIsShardServer(true)
+                .withReplication(Storage.of("shard1", 0)));
+        ServerAddress shard2 = startReplicaSetMember("shard2", MongodArguments.defaults()
+                .withIsShardServer(true)
+                .withReplication(Storage.of("shard2", 0)));
+
+        TransitionWalker.ReachedState<RunningMongosProcess> mongos = new Mongos() {
+            @Override
+            public Start<MongosArguments> mongosArguments() {
+                return Start.to(MongosArguments.class).initializedWith(MongosArguments.defaults()
+                        .withConfigDB(hostAndPort(config))
+                        .withReplicaSet("config"));
+            }
+        }.start(VERSION);
+        processes.add(mongos);
+
+        // Capture the find commands the repository sends, so exactly those are explained
+        CommandListener captureFind = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    lastFind.set(event.getCommand().clone());
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://" + hostAndPort(mongos.current().getServerAddress())))
+                .addCommandListener(captureFind)
+                .build());
+
+        MongoDatabase admin = client.getDatabase("admin");
+        admin.runCommand(new Document("addShard", "shard1/" + hostAndPort(shard1)));
+        admin.runCommand(new Document("addShard", "shard2/" + hostAndPort(shard2)));
+        admin.runCommand(new Document("enableSharding", DATABASE));
+        admin.runCommand(new Document("shardCollection", DATABASE + ".products")
+                .append("key", new Document("tenantId", 1).append("color", 1).append("_id", 1)));
+        // Colors of the default tenant before "M" stay on shard1, the rest move to shard2
+        admin.runCommand(new Document("split", DATABASE + ".products")
+                .append("middle", new BsonDocument("tenantId", new BsonString(TenantContext.DEFAULT_TENANT))
+                        .append("color", new BsonString("M")).append("_id", new BsonMinKey())));
+        admin.runCommand(new Document("moveChunk", DATABASE + ".products")
+                .append("find", new Document("tenantId", TenantContext.DEFAULT_TENANT).append("color", "Red")
+                        .append("_id", "x"))
+                .append("to", "shard2"));
+
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        QueryTimeoutProperties timeouts = new QueryTimeoutProperties();
+        repository = new ProductRepositoryImpl(mongoTemplate, new MongoReadProperties(),
+                new QueryDeadlines(timeouts), new SimpleMeterRegistry());
+    }
+
+    @AfterAll
+    public static void stopCluster() {
+        if (client != null) {
+            client.close();
+        }
+        // Stop mongos first, then the shards and the config server
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).close();
+        }
+    }
+
+    @BeforeEach
+    public void seed() {
+        mongoTemplate.remove(new Query(), Product.class);
+        for (String color : new String[]{"Black", "Blue", "Green", "Red", "White", "Yellow"}) {
+            for (int i = 0; i < 5; i++) {
+                Product product = new Product();
+                product.setTenantId(TenantContext.DEFAULT_TENANT);
+                product.setName("Product " + i);
+                product.setColor(color);
+                product.setPrice(10.0 * (i + 1));
+                product.setStockQuantity(10);
+                mongoTemplate.insert(product);
+            }
+        }
+    }
+
+    /**
+     * A color query contains the shard key prefix and is routed to one shard.
+     */
+    @Test
+    public void testFindByColor_IsTargeted() {
+        List<Product> products = repository.findByColor("Red");
+
+        assertEquals(5, products.size());
+        assertEquals("SINGLE_SHARD", explainLastFind());
+    }
+
+    /**
+     * A combined color and price search is routed to one shard.
+     */
+    @Test
+    public void testSearchWithColor_IsTargeted() {
+        ProductSearch search = new ProductSearch();
+        search.setColor("Blue");
+        search.setMaxPrice(35.0);
+
+        List<Product> products = repository.search(search);
+
+        assertEquals(3, products.size());
+        assertEquals("SINGLE_SHARD", explainLastFind());
+    }
+
+    /**
+     * Queries without the color are broadcast to every shard holding the tenant and merged.
+     */
+    @Test
+    public void testFindByName_IsBroadcast() {
+        List<Product> products = repository.findByName("Product 1");
+
+        assertEquals(6, products.size());
+        assertEquals("SHARD_MERGE", explainLastFind());
+    }
+
+    /**
+     * Saving an existing product goes through mongos, with the shard key added to the replace filter.
+     */
+    @Test
+    public void testSaveExistingProduct_OnShardedCollection() {
+        Product product = repository.findByColor("White").get(0);
+        product.setStockQuantity(99);
+
+        mongoTemplate.save(product);
+
+        assertEquals(99, mongoTemplate.findById(product.getId(), Product.class).getStockQuantity());
+    }
+
+    private static ServerAddress startReplicaSetMember(String replicaSet, MongodArguments arguments)
+            throws InterruptedException {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance()
+                .withMongodArguments(Start.to(MongodArguments.class).initializedWith(arguments))
+                .start(VERSION);
+        processes.add(mongod);
+        ServerAddress address = mongod.current().getServerAddress();
+
+        try (MongoClient member = MongoClients.create("mongodb://" + hostAndPort(address) + "/?directConnection=true")) {
+            Document replicaSetConfig = new Document("_id", replicaSet)
+                    .append("members", List.of(new Document("_id", 0).append("host", hostAndPort(address))));
+            if (arguments.isConfigServer()) {
+                replicaSetConfig.append("configsvr", true);
+            }
+            member.getDatabase("admin").runCommand(new Document("replSetInitiate", replicaSetConfig));
+            for (int i = 0; i < 100; i++) {
+                Document hello = member.getDatabase("admin").runCommand(new Document("hello", 1));
+                if (Boolean.TRUE.equals(hello.getBoolean("isWritablePrimary"))) {
+                    return address;
+                }
+                Thread.sleep(200);
+            }
+        }
+        throw new IllegalStateException("Replica set " + replicaSet + " did not elect a primary");
+    }
+
+    private static String hostAndPort(ServerAddress address) {
+        return address.getHost() + ":" + address.getPort();
+    }
+
+    /**
+     * Explains the last find sent by the repository and returns the top-level
+     * stage of the mongos plan: SINGLE_SHARD when targeted, SHARD_MERGE when broadcast.
+     */
+    private static String explainLastFind() {
+        BsonDocument find = lastFind.get();
+        BsonDocument command = new BsonDocument("find", find.get("find"))
+                .append("filter", find.getDocument("filter", new BsonDocument()));
+        Document explain = client.getDatabase(DATABASE).runCommand(new Document("explain", command)
+                .append("verbosity", "queryPlanner"));
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        return winningPlan.getString("stage");
+    }
+}
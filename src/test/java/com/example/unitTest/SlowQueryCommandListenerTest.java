@@ -0,0 +1,117 @@
+package com.example.unitTest;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SlowQueryCommandListenerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SlowQueryProperties properties;
+    private SlowQueryLog slowQueryLog;
+    private QueryPlanExplainer explainer;
+    private SlowQueryCommandListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ofMillis(100));
+        properties.setExplainSampleRate(1.0);
+        slowQueryLog = new SlowQueryLog(properties);
+        explainer = mock(QueryPlanExplainer.class);
+        listener = new SlowQueryCommandListener(properties, slowQueryLog, explainer, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Filter values are replaced by placeholders, operators and $and/$or structure are kept.
+     */
+    @Test
+    public void testShape() {
+        BsonDocument filter = BsonDocument.parse(
+                "{color: 'Red', price: {$gt: 10.0, $lt: 20.0}, $or: [{name: 'A'}, {name: {$in: ['B', 'C']}}]}");
+
+        assertEquals("{color: ?, price: {$gt: ?, $lt: ?}, $or: [{name: ?}, {name: {$in: ?}}]}",
+                SlowQueryCommandListener.shape(filter));
+    }
+
+    /**
+     * A find slower than the threshold is recorded with its shape and result size, and sampled for explain.
+     */
+    @Test
+    public void testSlowFind_IsRecorded() {
+        // Arrange
+        BsonDocument command = BsonDocument.parse("{find: 'products', filter: {color: 'Red'}, $db: 'test'}");
+        BsonDocument response = BsonDocument.parse("{cursor: {firstBatch: [{_id: 1}, {_id: 2}], id: 0}, ok: 1}");
+
+        // Act
+        run(1, "find", command, response, 250);
+
+        // Assert
+        List<SlowQuery> recent = slowQueryLog.recent();
+        assertEquals(1, recent.size());
+        assertEquals("products", recent.get(0).getCollection());
+        assertEquals("{color: ?}", recent.get(0).getShape());
+        assertEquals(2L, recent.get(0).getDocsReturned());
+        assertEquals(250L, recent.get(0).getDurationMs());
+        verify(explainer).explain(eq(recent.get(0)), eq(BsonDocument.parse("{find: 'products', filter: {color: 'Red'}}")));
+    }
+
+    /**
+     * Fast commands and explain commands are not recorded.
+     */
+    @Test
+    public void testFastAndExplainCommands_AreIgnored() {
+        // Act
+        run(1, "find", BsonDocument.parse("{find: 'products', filter: {}}"), BsonDocument.parse("{ok: 1}"), 5);
+        run(2, "explain", BsonDocument.parse("{explain: {find: 'products'}}"), BsonDocument.parse("{ok: 1}"), 500);
+
+        // Assert
+        assertTrue(slowQueryLog.recent().isEmpty());
+        verify(explainer, never()).explain(any(), any());
+    }
+
+    /**
+     * A slow command outside the explain sample is recorded but never explained, and the copy of its filter is
+     * detached from the driver's command document.
+     */
+    @Test
+    public void testSlowFindNotSampled_IsRecordedWithoutExplain() {
+        // Arrange
+        properties.setExplainSampleRate(0);
+        BsonDocument command = BsonDocument.parse("{find: 'products', filter: {color: 'Red', price: 5}, $db: 'test'}");
+
+        // Act: the driver may reuse the command buffer once commandStarted returns
+        listener.commandStarted(new CommandStartedEvent(null, 1, 1, CONNECTION, "test", "find", command));
+        command.getDocument("filter").clear();
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 1, CONNECTION, "test", "find",
+                BsonDocument.parse("{ok: 1}"), TimeUnit.MILLISECONDS.toNanos(250)));
+
+        // Assert
+        assertEquals("{color: ?, price: ?}", slowQueryLog.recent().get(0).getShape());
+        verify(explainer, never()).explain(any(), any());
+    }
+
+    private void run(int requestId, String commandName, BsonDocument command, BsonDocument response, long millis) {
+        listener.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION,
+                "test", commandName, command));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION,
+                "test", commandName, response, TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+}
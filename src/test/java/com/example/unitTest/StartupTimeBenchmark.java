@@ -0,0 +1,158 @@
+package com.example.unitTest;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time from launching the application process to the first
+ * successful GET /api/products, which is what the autoscaler waits for, and
+ * the resident set size (VmRSS, Linux only) of the process at that point.
+ * An embedded mongod is started unless --mongo host:port is given.
+ *
+ * Examples, after mvn -Pcds -Dmaven.test.skip=true package:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.unitTest.StartupTimeBenchmark \
+ *     -Dexec.args="--runs 5 -- java -jar target/unitTest-0.0.1-SNAPSHOT.jar"
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.unitTest.StartupTimeBenchmark \
+ *     -Dexec.args="--runs 5 -- java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true
+ *                  -Dspring.profiles.active=fast-startup -jar target/cds/unitTest-0.0.1-SNAPSHOT.jar"
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.unitTest.StartupTimeBenchmark \
+ *     -Dexec.args="--runs 5 -- target/unitTest --spring.profiles.active=native"
+ * </pre>
+ * Run the JVM and native commands in turn to compare the two builds.
+ */
+public class StartupTimeBenchmark {
+
+    private static final Duration GIVE_UP_AFTER = Duration.ofSeconds(120);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        String mongo = null;
+        List<String> command = new ArrayList<>(List.of("java", "-jar", "target/unitTest-0.0.1-SNAPSHOT.jar"));
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--mongo" -> mongo = args[++i];
+                case "--" -> {
+                    command = new ArrayList<>(Arrays.asList(args).subList(i + 1, args.length));
+                    i = args.length;
+                }
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        StartupTimeBenchmark benchmark = new StartupTimeBenchmark();
+        if (mongo != null) {
+            benchmark.run(command, mongo, runs);
+            return;
+        }
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0)) {
+            ServerAddress address = mongod.current().getServerAddress();
+            benchmark.run(command, address.getHost() + ":" + address.getPort(), runs);
+        }
+    }
+
+    void run(List<String> command, String mongo, int runs) throws Exception {
+        String[] hostAndPort = mongo.split(":");
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            Sample sample = timeToFirstResponse(command, hostAndPort[0], hostAndPort[1]);
+            millis[run] = sample.millis();
+            rssKb[run] = sample.rssKb();
+            System.out.printf("run %d: %d ms, RSS %d MB%n", run + 1, sample.millis(), sample.rssKb() / 1024);
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rssKb);
+        System.out.printf("time to first successful GET /api/products: min %d ms, median %d ms, max %d ms%n",
+                millis[0], millis[runs / 2], millis[runs - 1]);
+        System.out.printf("RSS after first response: median %d MB%n", rssKb[runs / 2] / 1024);
+    }
+
+    private Sample timeToFirstResponse(List<String> command, String mongoHost, String mongoPort) throws Exception {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+        fullCommand.add("--spring.data.mongodb.host=" + mongoHost);
+        fullCommand.add("--spring.data.mongodb.port=" + mongoPort);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < GIVE_UP_AFTER.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return new Sample((System.nanoTime() - start) / 1_000_000, residentSetKb(process.pid()));
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful response within " + GIVE_UP_AFTER);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * Reads VmRSS from /proc, or returns -1 where that is not available.
+     */
+    private static long residentSetKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+}
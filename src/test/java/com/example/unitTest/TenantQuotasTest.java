@@ -0,0 +1,83 @@
+package com.example.unitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantQuotasTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private TenantQuotas quotas;
+
+    @BeforeEach
+    public void setUp() {
+        TenantProperties properties = new TenantProperties();
+        properties.setAllowed(List.of("shop-a", "shop-b", "internal"));
+        properties.getQuota().setRequestsPerSecond(10);
+        properties.getQuota().setBurst(2);
+        TenantProperties.Quota unlimited = new TenantProperties.Quota();
+        unlimited.setEnabled(false);
+        properties.getQuotas().put("internal", unlimited);
+        meterRegistry = new SimpleMeterRegistry();
+        quotas = new TenantQuotas(properties, meterRegistry, nanoTime::get);
+    }
+
+    /**
+     * Test acquire to ensure a tenant over its burst is rejected without affecting other tenants, and refills over time.
+     */
+    @Test
+    public void testAcquire_RejectsOnlyTheNoisyTenant() {
+        // Act
+        quotas.acquire("shop-a");
+        quotas.acquire("shop-a");
+        TenantQuotaExceededException exception =
+                assertThrows(TenantQuotaExceededException.class, () -> quotas.acquire("shop-a"));
+        quotas.acquire("shop-b");
+        // 10 requests per second: one token after 100 ms
+        nanoTime.addAndGet(100_000_000L);
+        quotas.acquire("shop-a");
+
+        // Assert
+        assertEquals("shop-a", exception.getTenantId());
+        assertEquals(1.0, meterRegistry.get("products.tenant.rejected").tag("tenant", "shop-a").counter().count());
+    }
+
+    /**
+     * Test acquire to ensure rejections of tenants outside the allow-list and overrides share one metric tag.
+     */
+    @Test
+    public void testAcquire_UnknownTenantsShareTag() {
+        // Arrange: an open allow-list, so any well-formed id reaches the quotas
+        TenantProperties open = new TenantProperties();
+        open.getQuota().setBurst(1);
+        quotas = new TenantQuotas(open, meterRegistry, nanoTime::get);
+
+        // Act
+        for (String tenantId : List.of("random-1", "random-2")) {
+            quotas.acquire(tenantId);
+            assertThrows(TenantQuotaExceededException.class, () -> quotas.acquire(tenantId));
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.find("products.tenant.rejected").counters().size());
+        assertEquals(2.0, meterRegistry.get("products.tenant.rejected").tag("tenant", "other").counter().count());
+    }
+
+    /**
+     * Test acquire to ensure a tenant with a disabled quota override is never rejected.
+     */
+    @Test
+    public void testAcquire_OverrideWithoutQuota() {
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            quotas.acquire("internal");
+        }
+        assertTrue(meterRegistry.find("products.tenant.rejected").counters().isEmpty());
+    }
+}